@@ -0,0 +1,87 @@
+#!/usr/bin/env bash
+#
+# Mede o tempo até a primeira requisição atendida (GET /api/especies) do PetsApplication
+# em cada modo de inicialização. Requer o build do perfil inicio-rapido:
+#
+#   ./mvnw -Pinicio-rapido -DskipTests package
+#   scripts/medir-inicializacao.sh [execuções por modo] [modos...]
+#
+# Modos: padrao, lazy, aot, cds, aot-cds, aot-cds-lazy (padrão: todos, 5 execuções).
+# Cada execução usa um banco H2 em memória e diretórios temporários, de modo que todas
+# partem do mesmo estado. O resultado é a mediana, o mínimo e o máximo em milissegundos.
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+DIRETORIO=target/inicio-rapido
+JAR=$(ls "$DIRETORIO"/pets-*.jar 2>/dev/null | head -n 1)
+ARQUIVO_CDS=$DIRETORIO/pets.jsa
+PORTA=${PORTA:-8097}
+
+if [[ -z "$JAR" || ! -f "$ARQUIVO_CDS" ]]; then
+    echo "Build não encontrado em $DIRETORIO: execute ./mvnw -Pinicio-rapido -DskipTests package" >&2
+    exit 1
+fi
+
+EXECUCOES=${1:-5}
+shift || true
+MODOS=("$@")
+if [[ ${#MODOS[@]} -eq 0 ]]; then
+    MODOS=(padrao lazy aot cds aot-cds aot-cds-lazy)
+fi
+
+opcoes_jvm() {
+    case "$1" in
+        padrao)       echo "" ;;
+        lazy)         echo "-Dspring.main.lazy-initialization=true" ;;
+        aot)          echo "-Dspring.aot.enabled=true" ;;
+        cds)          echo "-XX:SharedArchiveFile=$ARQUIVO_CDS -Xlog:cds=off" ;;
+        aot-cds)      echo "-XX:SharedArchiveFile=$ARQUIVO_CDS -Xlog:cds=off -Dspring.aot.enabled=true" ;;
+        aot-cds-lazy) echo "-XX:SharedArchiveFile=$ARQUIVO_CDS -Xlog:cds=off -Dspring.aot.enabled=true -Dspring.main.lazy-initialization=true" ;;
+        *)            echo "Modo desconhecido: $1" >&2; exit 1 ;;
+    esac
+}
+
+# Tempo em ms entre iniciar a JVM e a primeira resposta 200
+medir() {
+    local modo=$1 temporario
+    temporario=$(mktemp -d)
+
+    local inicio fim
+    inicio=$(date +%s%N)
+    # shellcheck disable=SC2046
+    java $(opcoes_jvm "$modo") -jar "$JAR" \
+        --server.port="$PORTA" \
+        --spring.datasource.url="jdbc:h2:mem:medicao" \
+        --pets.fotos.diretorio="$temporario/fotos" \
+        --pets.busca.diretorio="$temporario/busca" \
+        > "$temporario/saida.log" 2>&1 &
+    local pid=$!
+
+    until curl -sf -o /dev/null "http://localhost:$PORTA/api/especies"; do
+        if ! kill -0 "$pid" 2>/dev/null; then
+            echo "A aplicação terminou durante a inicialização (modo $modo):" >&2
+            tail -n 20 "$temporario/saida.log" >&2
+            exit 1
+        fi
+        sleep 0.02
+    done
+    fim=$(date +%s%N)
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+    rm -rf "$temporario"
+    echo $(( (fim - inicio) / 1000000 ))
+}
+
+printf '%-14s %10s %10s %10s\n' modo mediana minimo maximo
+for modo in "${MODOS[@]}"; do
+    tempos=()
+    for ((i = 0; i < EXECUCOES; i++)); do
+        tempos+=("$(medir "$modo")")
+    done
+    ordenados=($(printf '%s\n' "${tempos[@]}" | sort -n))
+    printf '%-14s %8sms %8sms %8sms\n' "$modo" \
+        "${ordenados[$(( EXECUCOES / 2 ))]}" "${ordenados[0]}" "${ordenados[$(( EXECUCOES - 1 ))]}"
+done
@@ -0,0 +1,99 @@
+package app.adocao.pets.benchmark;
+
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.AdotanteRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.service.AdocaoService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Vazão de {@link AdocaoService#registrarAdocao}: cada operação registra a adoção de um
+ * pet e a desfaz em seguida, para que o pet volte a ficar disponível. Cada thread usa o
+ * seu próprio pet, então não há conflitos; rode com {@code -t} para medir a concorrência
+ * no banco.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdocaoBenchmark {
+
+    private static final int PETS = 256;
+
+    @State(Scope.Benchmark)
+    public static class Aplicacao {
+
+        private ConfigurableApplicationContext contexto;
+        private AdocaoService adocaoService;
+        private final List<Long> pets = new ArrayList<>();
+        private final AtomicInteger proximoPet = new AtomicInteger();
+        private Long adotanteId;
+
+        @Setup(Level.Trial)
+        public void iniciar() throws IOException {
+            contexto = AplicacaoBenchmark.iniciar("adocao");
+            adocaoService = contexto.getBean(AdocaoService.class);
+
+            Raca raca = AplicacaoBenchmark.criarRaca(contexto);
+            PetRepository petRepository = contexto.getBean(PetRepository.class);
+            for (int i = 0; i < PETS; i++) {
+                Pet pet = new Pet();
+                pet.setNome("Pet " + i);
+                pet.setIdade(i % 15);
+                pet.setRaca(raca);
+                pets.add(petRepository.save(pet).getId());
+            }
+
+            Adotante adotante = new Adotante();
+            adotante.setNome("Adotante");
+            adotante.setCpf("00000000000");
+            adotante.setEmail("adotante@example.com");
+            adotanteId = contexto.getBean(AdotanteRepository.class).save(adotante).getId();
+        }
+
+        @TearDown(Level.Trial)
+        public void encerrar() {
+            contexto.close();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class PetDaThread {
+
+        private Long petId;
+
+        @Setup(Level.Trial)
+        public void escolher(Aplicacao aplicacao) {
+            petId = aplicacao.pets.get(aplicacao.proximoPet.getAndIncrement() % PETS);
+        }
+    }
+
+    @Benchmark
+    public Long registrarEDesfazerAdocao(Aplicacao aplicacao, PetDaThread thread) {
+        Adocao adocao = aplicacao.adocaoService.registrarAdocao(thread.petId, aplicacao.adotanteId);
+        aplicacao.adocaoService.deletarAdocao(adocao.getId());
+        return adocao.getId();
+    }
+}
@@ -0,0 +1,72 @@
+package app.adocao.pets.benchmark;
+
+import app.adocao.pets.PetsApplication;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.RacaRepository;
+import app.adocao.pets.service.CatalogoCache;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Inicialização da aplicação para os benchmarks: contexto Spring completo, com um banco
+ * H2 em memória exclusivo e diretórios de fotos e de busca temporários.
+ */
+final class AplicacaoBenchmark {
+
+    private AplicacaoBenchmark() {
+    }
+
+    static ConfigurableApplicationContext iniciar(String banco) throws IOException {
+        return iniciar(banco, WebApplicationType.NONE);
+    }
+
+    /**
+     * Inicia a aplicação com o Tomcat em uma porta livre ({@code local.server.port}).
+     *
+     * @param argumentos Propriedades adicionais, no formato {@code --nome=valor}
+     */
+    static ConfigurableApplicationContext iniciarServidor(String banco, String... argumentos) throws IOException {
+        return iniciar(banco, WebApplicationType.SERVLET, argumentos);
+    }
+
+    private static ConfigurableApplicationContext iniciar(String banco, WebApplicationType tipo,
+                                                          String... argumentos) throws IOException {
+        Path fotos = Files.createTempDirectory("pets-fotos-benchmark");
+        Path busca = Files.createTempDirectory("pets-busca-benchmark");
+        List<String> propriedades = new ArrayList<>(List.of(
+            // Argumentos de linha de comando, para sobrepor o application.properties
+            "--spring.datasource.url=jdbc:h2:mem:" + banco + ";DB_CLOSE_DELAY=-1",
+            "--spring.jpa.show-sql=false",
+            "--spring.main.banner-mode=off",
+            "--logging.level.root=warn",
+            "--server.port=0",
+            "--pets.fotos.diretorio=" + fotos,
+            "--pets.busca.diretorio=" + busca));
+        propriedades.addAll(List.of(argumentos));
+        return new SpringApplicationBuilder(PetsApplication.class)
+            .web(tipo)
+            .run(propriedades.toArray(String[]::new));
+    }
+
+    static Raca criarRaca(ConfigurableApplicationContext contexto) {
+        Especie especie = new Especie();
+        especie.setNome("Cachorro");
+        especie = contexto.getBean(EspecieRepository.class).save(especie);
+
+        Raca raca = new Raca();
+        raca.setNome("Vira-lata");
+        raca.setEspecie(especie);
+        raca = contexto.getBean(RacaRepository.class).save(raca);
+        contexto.getBean(CatalogoCache.class).recarregar();
+        return raca;
+    }
+}
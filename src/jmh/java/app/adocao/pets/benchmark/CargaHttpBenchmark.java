@@ -0,0 +1,125 @@
+package app.adocao.pets.benchmark;
+
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.storage.PhotoStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga HTTP comparando o Tomcat com threads de plataforma (pool padrão de 200
+ * threads) e com threads virtuais. Cada thread do JMH é um cliente que faz requisições
+ * sem pausa; por padrão são 400 clientes, mais que o pool de threads do Tomcat.
+ *
+ * O modo {@code virtual} exige Java 21: {@code mvn -Pjava21,jmh -DskipTests verify
+ * -Djmh.args=CargaHttpBenchmark}.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@Threads(400)
+@State(Scope.Benchmark)
+public class CargaHttpBenchmark {
+
+    private static final int PETS = 500;
+
+    @Param({"plataforma", "virtual"})
+    private String modo;
+
+    private ConfigurableApplicationContext contexto;
+    private HttpClient cliente;
+    private String base;
+    private final List<Long> pets = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        boolean virtual = modo.equals("virtual");
+        if (virtual && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("O modo virtual exige Java 21 (perfil java21)");
+        }
+        contexto = AplicacaoBenchmark.iniciarServidor("carga-" + modo, "--spring.threads.virtual.enabled=" + virtual);
+        base = "http://localhost:" + contexto.getEnvironment().getProperty("local.server.port");
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        Raca raca = AplicacaoBenchmark.criarRaca(contexto);
+        String hash = contexto.getBean(PhotoStore.class).salvar(gerarFoto());
+        PetRepository petRepository = contexto.getBean(PetRepository.class);
+        for (int i = 0; i < PETS; i++) {
+            Pet pet = new Pet();
+            pet.setNome("Pet " + i);
+            pet.setIdade(i % 15);
+            pet.setRaca(raca);
+            pet.setDescricao("Filhote dócil");
+            pet.setFotoHash(hash);
+            pets.add(petRepository.save(pet).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    /** Consulta ao banco: página de pets disponíveis com as facetas. */
+    @Benchmark
+    public int facetas() throws IOException, InterruptedException {
+        return get("/api/pets/disponiveis/facetas?limit=20");
+    }
+
+    /** Leitura de arquivo: miniatura da foto de um pet aleatório. */
+    @Benchmark
+    public int fotoMiniatura() throws IOException, InterruptedException {
+        Long id = pets.get(ThreadLocalRandom.current().nextInt(pets.size()));
+        return get("/pets/foto/" + id + "?size=thumb");
+    }
+
+    private int get(String caminho) throws IOException, InterruptedException {
+        HttpRequest requisicao = HttpRequest.newBuilder(URI.create(base + caminho)).build();
+        HttpResponse<byte[]> resposta = cliente.send(requisicao, HttpResponse.BodyHandlers.ofByteArray());
+        if (resposta.statusCode() != 200) {
+            throw new IllegalStateException("GET " + caminho + " respondeu " + resposta.statusCode());
+        }
+        return resposta.body().length;
+    }
+
+    private static byte[] gerarFoto() throws IOException {
+        BufferedImage imagem = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < imagem.getHeight(); y += 4) {
+            for (int x = 0; x < imagem.getWidth(); x += 4) {
+                imagem.setRGB(x, y, ThreadLocalRandom.current().nextInt());
+            }
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "jpg", saida);
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,118 @@
+package app.adocao.pets.benchmark;
+
+import app.adocao.pets.controller.PetController;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.service.FotoDerivadaService;
+import app.adocao.pets.storage.PhotoStore;
+import app.adocao.pets.storage.TamanhoFoto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo de {@link PetController#exibirFoto} por tamanho servido, incluindo a leitura do
+ * corpo da resposta, e o da revalidação com {@code If-None-Match} (304).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FotoBenchmark {
+
+    @Param({"original", "full", "card", "thumb"})
+    private String tamanho;
+
+    private ConfigurableApplicationContext contexto;
+    private PetController petController;
+    private Long petId;
+    private String hash;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        contexto = AplicacaoBenchmark.iniciar("foto");
+        petController = contexto.getBean(PetController.class);
+
+        hash = contexto.getBean(PhotoStore.class).salvar(gerarFoto(2400, 1800));
+        // Gera a derivada antes da medição, como faria o envio da foto
+        contexto.getBean(FotoDerivadaService.class).carregar(hash, TamanhoFoto.de(tamanho));
+
+        Raca raca = AplicacaoBenchmark.criarRaca(contexto);
+        Pet pet = new Pet();
+        pet.setNome("Rex");
+        pet.setRaca(raca);
+        pet.setFotoHash(hash);
+        petId = contexto.getBean(PetRepository.class).save(pet).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public byte[] exibirFoto() throws IOException {
+        ResponseEntity<Resource> resposta = petController.exibirFoto(petId, hash, tamanho, novaRequisicao(null));
+        return resposta.getBody().getContentAsByteArray();
+    }
+
+    @Benchmark
+    public ResponseEntity<Resource> revalidarFoto() throws IOException {
+        String etag = "original".equals(tamanho) ? hash : hash + "-" + tamanho;
+        return petController.exibirFoto(petId, hash, tamanho, novaRequisicao("\"" + etag + "\""));
+    }
+
+    private static ServletWebRequest novaRequisicao(String ifNoneMatch) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/pets/foto");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+
+    /** Gera uma foto JPEG com ruído, para que a compressão se aproxime de uma foto real. */
+    private static byte[] gerarFoto(int largura, int altura) throws IOException {
+        BufferedImage imagem = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = imagem.createGraphics();
+        g.setPaint(new GradientPaint(0, 0, Color.ORANGE, largura, altura, Color.DARK_GRAY));
+        g.fillRect(0, 0, largura, altura);
+        g.dispose();
+        Random random = new Random(42);
+        for (int i = 0; i < largura * altura / 4; i++) {
+            imagem.setRGB(random.nextInt(largura), random.nextInt(altura), random.nextInt());
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "jpg", saida);
+        return saida.toByteArray();
+    }
+}
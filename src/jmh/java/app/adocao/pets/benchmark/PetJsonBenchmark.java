@@ -0,0 +1,142 @@
+package app.adocao.pets.benchmark;
+
+import app.adocao.pets.dto.AdocaoResposta;
+import app.adocao.pets.dto.CamposResposta;
+import app.adocao.pets.dto.Pagina;
+import app.adocao.pets.dto.PetResposta;
+import app.adocao.pets.dto.PetResumo;
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização JSON das respostas da API de pets: um pet, uma página de
+ * {@code /api/pets} e a listagem de resumos, com o mesmo {@link ObjectMapper} que o
+ * Spring Boot configura para os controladores.
+ *
+ * Compara as entidades, serializadas diretamente como antes, com os modelos de resposta
+ * ({@link PetResposta}, {@link AdocaoResposta}) e com {@code ?fields=nome,fotoUrl}.
+ * A redução do tamanho em bytes dessas respostas é verificada por {@code RespostaJsonTests}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PetJsonBenchmark {
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    private ObjectMapper objectMapper;
+    private Pet pet;
+    private Pagina<Pet> pagina;
+    private Pagina<PetResposta> paginaResposta;
+    private List<PetResumo> resumos;
+    private List<Adocao> adocoes;
+    private List<AdocaoResposta> adocoesResposta;
+    private ObjectWriter writerCampos;
+
+    @Setup
+    public void iniciar() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().filters(CamposResposta.todos()).build();
+        writerCampos = objectMapper.writer(CamposResposta.apenas("nome,fotoUrl"));
+        Adotante adotante = new Adotante();
+        adotante.setId(1L);
+        adotante.setNome("Maria da Silva");
+        adotante.setEmail("maria@exemplo.com");
+        adotante.setCpf("12345678900");
+
+        Especie especie = new Especie();
+        especie.setId(1L);
+        especie.setNome("Cachorro");
+        Raca raca = new Raca();
+        raca.setId(1L);
+        raca.setNome("Vira-lata");
+        raca.setEspecie(especie);
+
+        List<Pet> pets = new ArrayList<>();
+        resumos = new ArrayList<>();
+        adocoes = new ArrayList<>();
+        for (long id = 1; id <= TAMANHO_PAGINA; id++) {
+            Pet p = new Pet();
+            p.setId(id);
+            p.setNome("Pet " + id);
+            p.setIdade((int) (id % 15));
+            p.setRaca(raca);
+            p.setDescricao("Cachorro dócil, vacinado e castrado. Convive bem com crianças e outros animais.");
+            p.setFotoHash("%064x".formatted(id));
+            p.setVersao(0L);
+            pets.add(p);
+            resumos.add(new PetResumo(id, p.getNome(), raca.getNome(), especie.getNome(),
+                p.getIdade(), p.getDescricao(), false, p.getFotoHash()));
+
+            Adocao adocao = new Adocao();
+            adocao.setId(id);
+            adocao.setPet(p);
+            adocao.setAdotante(adotante);
+            adocao.setDataAdocao(LocalDate.of(2024, 1, 1));
+            adocoes.add(adocao);
+        }
+        pet = pets.get(0);
+        pagina = new Pagina<>(pets, (long) TAMANHO_PAGINA, TAMANHO_PAGINA);
+        paginaResposta = pagina.map(PetResposta::de);
+        adocoesResposta = adocoes.stream().map(AdocaoResposta::de).toList();
+    }
+
+    @Benchmark
+    public byte[] pet() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pet);
+    }
+
+    @Benchmark
+    public byte[] paginaDePets() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+
+    @Benchmark
+    public byte[] resumos() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(resumos);
+    }
+
+    @Benchmark
+    public byte[] paginaDeRespostas() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(paginaResposta);
+    }
+
+    @Benchmark
+    public byte[] paginaDeRespostasComCampos() throws JsonProcessingException {
+        return writerCampos.writeValueAsBytes(paginaResposta);
+    }
+
+    @Benchmark
+    public byte[] adocoes() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(adocoes);
+    }
+
+    @Benchmark
+    public byte[] adocoesResposta() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(adocoesResposta);
+    }
+}
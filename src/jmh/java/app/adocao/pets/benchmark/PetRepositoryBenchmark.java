@@ -0,0 +1,71 @@
+package app.adocao.pets.benchmark;
+
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.PetRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tempo das consultas de listagem de pets ({@code findAll} e {@code findByAdotadoFalse})
+ * conforme o tamanho da tabela. Um em cada quatro pets está adotado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class PetRepositoryBenchmark {
+
+    @Param({"10000", "100000", "1000000"})
+    private int linhas;
+
+    private ConfigurableApplicationContext contexto;
+    private PetRepository petRepository;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws IOException {
+        contexto = AplicacaoBenchmark.iniciar("repositorio");
+        petRepository = contexto.getBean(PetRepository.class);
+
+        Raca raca = AplicacaoBenchmark.criarRaca(contexto);
+        contexto.getBean(JdbcTemplate.class).update("""
+            insert into pet (id, nome, idade, descricao, adotado, raca_id, versao)
+            select x, 'Pet ' || x, mod(x, 15), 'Descrição do pet ' || x, mod(x, 4) = 0, ?, 0
+            from system_range(1, ?)
+            """, raca.getId(), linhas);
+    }
+
+    @TearDown(Level.Trial)
+    public void encerrar() {
+        contexto.close();
+    }
+
+    @Benchmark
+    public List<Pet> findAll() {
+        return petRepository.findAll();
+    }
+
+    @Benchmark
+    public List<Pet> findByAdotadoFalse() {
+        return petRepository.findByAdotadoFalse();
+    }
+}
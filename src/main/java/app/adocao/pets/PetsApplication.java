@@ -2,12 +2,21 @@ package app.adocao.pets;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 
 @SpringBootApplication
 public class PetsApplication {
 
+	/**
+	 * Máximo de etapas da inicialização guardadas para /actuator/startup
+	 * (criação de cada bean, configurações, refresh do contexto).
+	 */
+	private static final int ETAPAS_INICIALIZACAO = 4096;
+
 	public static void main(String[] args) {
-		SpringApplication.run(PetsApplication.class, args);
+		SpringApplication application = new SpringApplication(PetsApplication.class);
+		application.setApplicationStartup(new BufferingApplicationStartup(ETAPAS_INICIALIZACAO));
+		application.run(args);
 	}
 
 }
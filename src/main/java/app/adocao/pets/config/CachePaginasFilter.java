@@ -0,0 +1,128 @@
+package app.adocao.pets.config;
+
+import app.adocao.pets.service.VersaoDados;
+import app.adocao.pets.service.VersaoDados.Conjunto;
+import app.adocao.pets.service.VersaoDados.Versao;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache do HTML das páginas de listagem ({@code /pets}, {@code /racas}, {@code /especies},
+ * {@code /adotantes} e {@code /adocoes}).
+ *
+ * Cada página depende de alguns conjuntos de dados ({@link VersaoDados.Conjunto}). O HTML
+ * gerado é guardado junto com as versões desses conjuntos, lidas antes de a página ser
+ * gerada, e servido enquanto nenhuma delas mudar. Uma escrita que termina durante a
+ * geração deixa a entrada com versões antigas, que não é usada.
+ *
+ * Com réplica de leitura, a página gerada até {@code pets.datasource.replica.atraso-maximo}
+ * depois de uma escrita pode ter vindo da réplica ainda atrasada: nesse intervalo a
+ * página é gerada normalmente, mas não é guardada.
+ *
+ * Métricas: {@code pets.paginas.cache} (tags {@code pagina} e {@code resultado}:
+ * {@code acerto} ou {@code falha}) e {@code pets.paginas.renderizacao}, o tempo para
+ * gerar a página quando ela não está em cache.
+ */
+@Component
+@ConditionalOnProperty(name = "pets.paginas.cache.habilitado", havingValue = "true", matchIfMissing = true)
+public class CachePaginasFilter extends OncePerRequestFilter {
+
+    private static final Map<String, List<Conjunto>> PAGINAS = Map.of(
+        "/pets", List.of(Conjunto.PETS, Conjunto.CATALOGO),
+        "/racas", List.of(Conjunto.CATALOGO),
+        "/especies", List.of(Conjunto.CATALOGO),
+        "/adotantes", List.of(Conjunto.ADOTANTES),
+        "/adocoes", List.of(Conjunto.ADOCOES, Conjunto.PETS, Conjunto.ADOTANTES)
+    );
+
+    private final VersaoDados versaoDados;
+    private final MeterRegistry meterRegistry;
+    private final Duration atrasoReplica;
+    private final Map<String, Entrada> entradas = new ConcurrentHashMap<>();
+
+    private record Entrada(List<Versao> versoes, byte[] html, String contentType) {
+    }
+
+    public CachePaginasFilter(VersaoDados versaoDados, MeterRegistry meterRegistry,
+                              ObjectProvider<LeituraAposEscrita> leituraAposEscrita) {
+        this.versaoDados = versaoDados;
+        this.meterRegistry = meterRegistry;
+        LeituraAposEscrita replica = leituraAposEscrita.getIfAvailable();
+        this.atrasoReplica = replica != null ? replica.getAtrasoMaximo() : Duration.ZERO;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"GET".equals(request.getMethod())
+                || request.getQueryString() != null
+                || !PAGINAS.containsKey(pagina(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String pagina = pagina(request);
+        List<Versao> versoes = PAGINAS.get(pagina).stream().map(versaoDados::versao).toList();
+
+        Entrada entrada = entradas.get(pagina);
+        if (entrada != null && entrada.versoes().equals(versoes)) {
+            contar(pagina, "acerto");
+            response.setContentType(entrada.contentType());
+            response.setContentLength(entrada.html().length);
+            response.getOutputStream().write(entrada.html());
+            return;
+        }
+        contar(pagina, "falha");
+
+        ContentCachingResponseWrapper resposta = new ContentCachingResponseWrapper(response);
+        Timer.Sample amostra = Timer.start(meterRegistry);
+        try {
+            chain.doFilter(request, resposta);
+        } finally {
+            amostra.stop(Timer.builder("pets.paginas.renderizacao")
+                    .description("Tempo para gerar as páginas de listagem fora do cache")
+                    .tag("pagina", pagina)
+                    .register(meterRegistry));
+        }
+
+        if (resposta.getStatus() == HttpStatus.OK.value() && foraDoAtrasoDaReplica(versoes)) {
+            entradas.put(pagina, new Entrada(versoes, resposta.getContentAsByteArray(), resposta.getContentType()));
+        }
+        resposta.copyBodyToResponse();
+    }
+
+    private boolean foraDoAtrasoDaReplica(List<Versao> versoes) {
+        long agora = System.nanoTime();
+        return versoes.stream().allMatch(versao -> agora - versao.alteradaEm() >= atrasoReplica.toNanos());
+    }
+
+    private void contar(String pagina, String resultado) {
+        Counter.builder("pets.paginas.cache")
+                .description("Requisições das páginas de listagem atendidas pelo cache (acerto) ou geradas (falha)")
+                .tag("pagina", pagina)
+                .tag("resultado", resultado)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static String pagina(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
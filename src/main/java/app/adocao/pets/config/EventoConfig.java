@@ -0,0 +1,45 @@
+package app.adocao.pets.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configuração da entrega dos eventos SSE ({@link app.adocao.pets.service.EventoPetService}).
+ */
+@Configuration
+public class EventoConfig {
+
+    /**
+     * Executor que escreve os eventos nas conexões dos clientes.
+     *
+     * Cada cliente tem no máximo uma tarefa de envio em andamento, então a quantidade de
+     * threads acompanha a de clientes recebendo eventos ao mesmo tempo. Um cliente lento
+     * prende apenas a sua própria thread. Sem fila: toda tarefa começa imediatamente, em
+     * uma thread ociosa ou nova.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor eventoExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(Integer.MAX_VALUE);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("evento-");
+        return executor;
+    }
+
+    /**
+     * No modo de threads virtuais, cada envio roda em uma thread virtual.
+     */
+    @Bean(name = "eventoExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor eventoExecutorVirtual() {
+        return new VirtualThreadTaskExecutor("evento-");
+    }
+}
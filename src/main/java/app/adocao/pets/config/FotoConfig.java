@@ -0,0 +1,59 @@
+package app.adocao.pets.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Configuração do processamento de fotos em segundo plano.
+ */
+@Configuration
+public class FotoConfig {
+
+    /**
+     * Executor limitado usado para gerar as derivadas das fotos enviadas.
+     *
+     * Quando a fila está cheia, novas tarefas são descartadas: a derivada que não foi
+     * gerada agora é gerada na primeira vez em que for solicitada.
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolTaskExecutor fotoExecutor(
+            @Value("${pets.fotos.derivadas.threads:2}") int threads,
+            @Value("${pets.fotos.derivadas.fila:100}") int fila
+    ) {
+        return criarExecutor(threads, fila);
+    }
+
+    /**
+     * No modo de threads virtuais, o mesmo executor roda as tarefas em threads virtuais.
+     * A quantidade de threads continua limitada: a geração das derivadas usa CPU e
+     * memória, e a fila com descarte protege a aplicação em picos de envio.
+     */
+    @Bean(name = "fotoExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public ThreadPoolTaskExecutor fotoExecutorVirtual(
+            @Value("${pets.fotos.derivadas.threads:2}") int threads,
+            @Value("${pets.fotos.derivadas.fila:100}") int fila
+    ) {
+        ThreadPoolTaskExecutor executor = criarExecutor(threads, fila);
+        executor.setThreadFactory(new VirtualThreadTaskExecutor("foto-").getVirtualThreadFactory());
+        return executor;
+    }
+
+    private static ThreadPoolTaskExecutor criarExecutor(int threads, int fila) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(fila);
+        executor.setThreadNamePrefix("foto-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.DiscardPolicy());
+        return executor;
+    }
+}
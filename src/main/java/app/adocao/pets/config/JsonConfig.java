@@ -0,0 +1,23 @@
+package app.adocao.pets.config;
+
+import app.adocao.pets.dto.CamposResposta;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuração do {@link com.fasterxml.jackson.databind.ObjectMapper} da aplicação.
+ */
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Registra o filtro de {@link CamposResposta} serializando todos os campos. Sem ele, os
+     * modelos anotados com {@code @JsonFilter} não poderiam ser serializados fora das
+     * respostas com {@code ?fields=} (eventos SSE, por exemplo).
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer camposRespostaCustomizer() {
+        return builder -> builder.filters(CamposResposta.todos());
+    }
+}
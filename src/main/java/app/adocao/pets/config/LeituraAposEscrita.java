@@ -0,0 +1,100 @@
+package app.adocao.pets.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Garante que um cliente leia as próprias escritas mesmo com a réplica atrasada.
+ *
+ * Quando uma transação de escrita é confirmada durante uma requisição, o cliente recebe o
+ * cookie {@value #COOKIE}, válido pelo atraso máximo de replicação. Enquanto o navegador
+ * enviar o cookie, as leituras desse cliente (e as do restante da própria requisição) vão
+ * para o primário; depois disso voltam para a réplica, que já terá recebido as alterações.
+ *
+ * Só as requisições GET e HEAD podem ler da réplica. As demais escrevem ou decidem a escrita
+ * com base no que leem (versão do {@code If-Match}, existência do pet adotado), e mesmo as
+ * leituras implícitas dos repositórios ({@code findById}, somente leitura) vão para o primário.
+ */
+public class LeituraAposEscrita extends OncePerRequestFilter implements TransactionExecutionListener {
+
+    public static final String COOKIE = "pets-leitura-primario";
+
+    private static final ThreadLocal<Requisicao> REQUISICAO = new ThreadLocal<>();
+
+    private final Duration atrasoMaximo;
+
+    private static final class Requisicao {
+        private final HttpServletResponse response;
+        private boolean primario;
+
+        Requisicao(HttpServletResponse response, boolean primario) {
+            this.response = response;
+            this.primario = primario;
+        }
+    }
+
+    /**
+     * @param atrasoMaximo Atraso máximo esperado da réplica em relação ao primário
+     */
+    public LeituraAposEscrita(Duration atrasoMaximo) {
+        this.atrasoMaximo = atrasoMaximo;
+    }
+
+    public Duration getAtrasoMaximo() {
+        return atrasoMaximo;
+    }
+
+    /**
+     * Indica se as leituras da thread atual podem ir para a réplica: apenas dentro de uma
+     * requisição HTTP GET ou HEAD de um cliente sem escritas recentes. Tarefas fora de requisições
+     * (inicialização, processamento em segundo plano) leem sempre do primário.
+     */
+    static boolean permiteReplica() {
+        Requisicao requisicao = REQUISICAO.get();
+        return requisicao != null && !requisicao.primario;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean primario = !metodoSeguro(request) || WebUtils.getCookie(request, COOKIE) != null;
+        REQUISICAO.set(new Requisicao(response, primario));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            REQUISICAO.remove();
+        }
+    }
+
+    private static boolean metodoSeguro(HttpServletRequest request) {
+        String metodo = request.getMethod();
+        return HttpMethod.GET.matches(metodo) || HttpMethod.HEAD.matches(metodo);
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        Requisicao requisicao = REQUISICAO.get();
+        if (requisicao == null || commitFailure != null || transaction.isReadOnly()) {
+            return;
+        }
+        requisicao.primario = true;
+        if (!requisicao.response.isCommitted()) {
+            Cookie cookie = new Cookie(COOKIE, "1");
+            cookie.setPath("/");
+            cookie.setHttpOnly(true);
+            cookie.setMaxAge((int) Math.max(1, atrasoMaximo.toSeconds()));
+            requisicao.response.addCookie(cookie);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package app.adocao.pets.config;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Recursos estáticos das páginas (CSS, JS e imagens) com URLs versionadas pelo conteúdo.
+ *
+ * Nos templates, {@code @{/css/pets.css}} é reescrito para {@code /css/pets-<hash>.css}
+ * pelo {@link ResourceUrlEncodingFilter}. Como a URL muda sempre que o arquivo muda, a
+ * resposta pode ficar em cache por um ano sem revalidação ({@code immutable}). Quando o
+ * cliente aceita gzip, é servida a versão pré-comprimida gerada no build ({@code .gz}).
+ */
+@Configuration
+public class RecursosEstaticosConfig implements WebMvcConfigurer {
+
+    /** Diretórios de src/main/resources/static servidos pela cadeia de recursos. */
+    private static final List<String> DIRETORIOS = List.of("css", "js", "img", "vendor");
+
+    private static final Duration VALIDADE = Duration.ofDays(365);
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String diretorio : DIRETORIOS) {
+            registry.addResourceHandler("/" + diretorio + "/**")
+                    .addResourceLocations("classpath:/static/" + diretorio + "/")
+                    .setCacheControl(CacheControl.maxAge(VALIDADE).cachePublic().immutable())
+                    .resourceChain(true)
+                    .addResolver(new EncodedResourceResolver())
+                    .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"))
+                    .addTransformer(new CssLinkResourceTransformer());
+        }
+    }
+
+    /**
+     * Reescreve os links gerados pelo Thymeleaf para as URLs versionadas.
+     */
+    @Bean
+    public FilterRegistrationBean<ResourceUrlEncodingFilter> resourceUrlEncodingFilter() {
+        return new FilterRegistrationBean<>(new ResourceUrlEncodingFilter());
+    }
+}
@@ -0,0 +1,84 @@
+package app.adocao.pets.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Réplica de leitura, ativada quando {@code pets.datasource.replica.url} está definida.
+ *
+ * O banco configurado em {@code spring.datasource} continua sendo o primário e recebe
+ * todas as escritas; as transações somente leitura vão para a réplica
+ * ({@link RoteamentoDataSource}). A replicação em si fica a cargo do banco.
+ */
+@Configuration
+@ConditionalOnProperty("pets.datasource.replica.url")
+public class ReplicaLeituraConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLeituraConfig.class);
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource dataSourcePrimario(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primario");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("pets.datasource.replica.hikari")
+    public HikariDataSource dataSourceReplica(
+            @Value("${pets.datasource.replica.url}") String url,
+            @Value("${pets.datasource.replica.username:${spring.datasource.username:}}") String usuario,
+            @Value("${pets.datasource.replica.password:${spring.datasource.password:}}") String senha) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(usuario);
+        dataSource.setPassword(senha);
+        dataSource.setReadOnly(true);
+        dataSource.setPoolName("replica");
+        return dataSource;
+    }
+
+    /**
+     * DataSource usado pela aplicação (JPA, JdbcTemplate, migrações).
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("dataSourcePrimario") DataSource primario,
+                                 @Qualifier("dataSourceReplica") DataSource replica) {
+        log.info("Réplica de leitura ativa: transações somente leitura usam o pool 'replica'");
+        return new LazyConnectionDataSourceProxy(new RoteamentoDataSource(primario, replica));
+    }
+
+    @Bean
+    public LeituraAposEscrita leituraAposEscrita(
+            @Value("${pets.datasource.replica.atraso-maximo:5s}") Duration atrasoMaximo) {
+        return new LeituraAposEscrita(atrasoMaximo);
+    }
+
+    /**
+     * Devolve a conexão ao fim de cada transação. O padrão do Spring mantém a conexão até o
+     * fim da requisição (open-in-view), e a primeira transação decidiria o banco de todas.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer conexaoPorTransacao() {
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+            PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+}
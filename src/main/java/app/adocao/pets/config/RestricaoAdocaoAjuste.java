@@ -0,0 +1,84 @@
+package app.adocao.pets.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migração V7 do Flyway: dá o nome {@code uk_adocao_pet} à restrição de unicidade de
+ * {@code adocao.pet_id}.
+ *
+ * A migração V1 só cria a tabela adocao se ela não existir, e em bancos anteriores ao
+ * Flyway a restrição ficou com o nome gerado pelo Hibernate ou pelo banco. O
+ * {@code AdocaoService} identifica a adoção concorrente do mesmo pet por esse nome, então a
+ * restrição é recriada com ele. Em bancos novos ou já ajustados não há alteração.
+ */
+@Component
+public class RestricaoAdocaoAjuste implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(RestricaoAdocaoAjuste.class);
+
+    private static final String RESTRICAO = "UK_ADOCAO_PET";
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("7");
+    }
+
+    @Override
+    public String getDescription() {
+        return "nome da restricao de pet unico";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        // Restrições de unicidade que têm apenas a coluna pet_id
+        List<String> restricoes = jdbcTemplate.queryForList("""
+            select tc.constraint_name
+            from information_schema.table_constraints tc
+            where tc.table_name = 'ADOCAO'
+              and tc.constraint_type = 'UNIQUE'
+              and (select count(*) from information_schema.key_column_usage k
+                   where k.constraint_name = tc.constraint_name and k.table_name = 'ADOCAO') = 1
+              and exists (select 1 from information_schema.key_column_usage k
+                          where k.constraint_name = tc.constraint_name and k.table_name = 'ADOCAO'
+                            and k.column_name = 'PET_ID')
+            """, String.class);
+        if (restricoes.contains(RESTRICAO)) {
+            return;
+        }
+
+        for (String restricao : restricoes) {
+            jdbcTemplate.execute("alter table adocao drop constraint \"" + restricao + "\"");
+            log.info("Restrição {} de adocao.pet_id substituída por uk_adocao_pet", restricao);
+        }
+        jdbcTemplate.execute("alter table adocao add constraint uk_adocao_pet unique (pet_id)");
+
+        // A restrição reaproveita o índice existente em pet_id, que mantém o nome antigo; o
+        // H2 informa o nome do índice na violação, então ele também é renomeado
+        String indice = jdbcTemplate.queryForObject(
+            "select index_name from information_schema.table_constraints where constraint_name = ?",
+            String.class, RESTRICAO);
+        if (indice != null && !indice.startsWith(RESTRICAO)) {
+            jdbcTemplate.execute("alter index \"" + indice + "\" rename to " + RESTRICAO + "_INDEX");
+        }
+    }
+}
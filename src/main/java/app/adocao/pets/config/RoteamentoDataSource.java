@@ -0,0 +1,38 @@
+package app.adocao.pets.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * DataSource que envia as transações somente leitura ({@code @Transactional(readOnly = true)})
+ * de requisições GET e HEAD para a réplica e todo o resto para o banco primário.
+ *
+ * A decisão é tomada quando a conexão é obtida, por isso este DataSource deve ficar atrás de
+ * um {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}: o proxy só
+ * pede a conexão no primeiro comando SQL, quando a transação já foi marcada como somente
+ * leitura. Leituras de um cliente que acabou de escrever vão para o primário enquanto a
+ * réplica pode estar atrasada, assim como as leituras feitas em requisições que alteram dados
+ * e fora de requisições HTTP ({@link LeituraAposEscrita}).
+ */
+public class RoteamentoDataSource extends AbstractRoutingDataSource {
+
+    enum Destino {
+        PRIMARIO, REPLICA
+    }
+
+    public RoteamentoDataSource(DataSource primario, DataSource replica) {
+        setTargetDataSources(Map.of(Destino.PRIMARIO, primario, Destino.REPLICA, replica));
+        setDefaultTargetDataSource(primario);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        boolean somenteLeitura = TransactionSynchronizationManager.isActualTransactionActive()
+            && TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+        return somenteLeitura && LeituraAposEscrita.permiteReplica() ? Destino.REPLICA : Destino.PRIMARIO;
+    }
+}
@@ -0,0 +1,71 @@
+package app.adocao.pets.config;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migração V6 do Flyway: ajusta as sequences de IDs de bancos criados antes da troca de
+ * {@code GenerationType.IDENTITY} por sequences com alocação em blocos.
+ *
+ * Em bancos antigos as sequences são criadas vazias pela migração V1, começando em 1, enquanto as tabelas
+ * já têm registros. Cada sequence que ainda poderia gerar um ID existente é reiniciada
+ * acima do maior ID da tabela. Em bancos novos ou já ajustados não há alteração.
+ */
+@Component
+public class SequenciaAjuste implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(SequenciaAjuste.class);
+
+    /** Deve ser igual ao {@code allocationSize} das entidades. */
+    private static final int TAMANHO_BLOCO = 50;
+
+    private static final List<String> TABELAS = List.of("especie", "raca", "adotante", "pet", "adocao");
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("6");
+    }
+
+    @Override
+    public String getDescription() {
+        return "ajuste das sequences";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        for (String tabela : TABELAS) {
+            String sequence = tabela + "_seq";
+            Long proximo = jdbcTemplate.queryForObject(
+                "select base_value from information_schema.sequences where sequence_name = ?",
+                Long.class, sequence.toUpperCase());
+            long maiorId = jdbcTemplate.queryForObject("select coalesce(max(id), 0) from " + tabela, Long.class);
+
+            // O Hibernate usa o valor obtido da sequence como o maior ID do bloco:
+            // o bloco seguinte vai de (proximo - TAMANHO_BLOCO + 1) até proximo
+            long minimo = maiorId + TAMANHO_BLOCO;
+            if (proximo != null && proximo < minimo && maiorId > 0) {
+                jdbcTemplate.execute("alter sequence " + sequence + " restart with " + minimo);
+                log.info("Sequence {} reiniciada em {} (maior ID em {}: {})", sequence, minimo, tabela, maiorId);
+            }
+        }
+    }
+}
@@ -5,8 +5,9 @@ import app.adocao.pets.model.Adotante;
 import app.adocao.pets.model.Pet;
 import app.adocao.pets.repository.AdocaoRepository;
 import app.adocao.pets.repository.AdotanteRepository;
-import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.dto.FaixaIdade;
 import app.adocao.pets.service.AdocaoService;
+import app.adocao.pets.service.NavegacaoPetService;
 
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -22,20 +23,23 @@ import java.time.LocalDate;
 public class AdocaoController {
 
     private final AdocaoRepository adocaoRepository;
-    private final PetRepository petRepository;
     private final AdotanteRepository adotanteRepository;
     private final AdocaoService adocaoService;
+    private final NavegacaoPetService navegacaoPetService;
+
+    /** Pets exibidos por vez na seleção do formulário de adoção. */
+    private static final int PETS_POR_PAGINA = 50;
 
     public AdocaoController(
         AdocaoRepository adocaoRepository, 
-        PetRepository petRepository, 
         AdotanteRepository adotanteRepository, 
-        AdocaoService adocaoService
+        AdocaoService adocaoService,
+        NavegacaoPetService navegacaoPetService
         ) {
         this.adocaoRepository = adocaoRepository;
-        this.petRepository = petRepository;
         this.adotanteRepository = adotanteRepository;
         this.adocaoService = adocaoService;
+        this.navegacaoPetService = navegacaoPetService;
     }
 
     /**
@@ -52,12 +56,30 @@ public class AdocaoController {
      * Exibe o formulário para registrar uma nova adoção.
      * View: adocoes/form.html
      * Dados disponíveis no form:
-     * - Pets disponíveis (não adotados)
+     * - Pets disponíveis (não adotados), filtrados pelas facetas e paginados
+     * - Facetas de espécie, raça e faixa de idade, com a quantidade de pets
      * - Lista de adotantes
      */
     @GetMapping("/nova")
-    public String mostrarFormularioAdocao(Adocao adocao, Model model) {
-        model.addAttribute("pets", petRepository.findByAdotadoFalse());
+    public String mostrarFormularioAdocao(
+        Adocao adocao,
+        @RequestParam(required = false) Long especieId,
+        @RequestParam(required = false) Long racaId,
+        @RequestParam(required = false) String idade,
+        @RequestParam(required = false) String q,
+        @RequestParam(defaultValue = "0") long after,
+        Model model
+        ) {
+        FaixaIdade faixa;
+        try {
+            faixa = FaixaIdade.de(idade);
+        } catch (IllegalArgumentException e) {
+            // Faixa desconhecida (URL editada à mão): a navegação segue sem esse filtro
+            faixa = null;
+        }
+        NavegacaoPetService.Filtro filtro = new NavegacaoPetService.Filtro(especieId, racaId, faixa, q);
+        model.addAttribute("filtro", filtro);
+        model.addAttribute("navegacao", navegacaoPetService.navegar(filtro, after, PETS_POR_PAGINA));
         model.addAttribute("adotantes", adotanteRepository.findAll());
         model.addAttribute("adocao", adocao);
         return "adocoes/form";  // criaremos essa view depois, se quiser
@@ -5,7 +5,9 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import app.adocao.pets.dto.AdocaoResposta;
 import app.adocao.pets.model.Adocao;
 import app.adocao.pets.repository.AdocaoRepository;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -16,6 +18,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.RequestHeader;
 import app.adocao.pets.repository.AdocaoRepository;
 import java.util.List;
 import app.adocao.pets.repository.RacaRepository;
@@ -59,23 +63,42 @@ public class AdocaoRestController {
      * @return Lista de adoções
      */
     @GetMapping({"/", ""})
-    public List<Adocao> listarAdocoes() {
-        return adocaoRepository.findAll();
+    @Transactional(readOnly = true)
+    public List<AdocaoResposta> listarAdocoes() {
+        return adocaoRepository.listarRespostas();
     }
 
     /**
      * Busca uma adocao específica pelo seu ID.
      * Endpoint acessado via GET em /api/adocoes/{id}
      * @param id ID da adocao
-     * @return Adocao encontrada ou 404
+     * @return Adocao encontrada, 304 se o <code>If-None-Match</code> tiver o ETag atual, ou 404
      */
     @GetMapping({"/{id}", "/{id}/"})
-    public ResponseEntity<Adocao> buscarPorId(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<AdocaoResposta> buscarPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            String etag = adocaoRepository.buscarVersoes(id).map(Etags::de).orElse(null);
+            if (Etags.naoModificado(ifNoneMatch, etag)) {
+                return Etags.respostaNaoModificada(etag);
+            }
+        }
         return adocaoRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(adocao -> ResponseEntity.ok().eTag(etag(adocao)).body(AdocaoResposta.de(adocao)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * ETag da adoção: versões da adoção, do pet e do adotante, na mesma ordem de
+     * {@link AdocaoRepository#buscarVersoes(Long)}.
+     */
+    private static String etag(Adocao adocao) {
+        return Etags.de(adocao.getVersao(), adocao.getPet().getVersao(), adocao.getAdotante().getVersao());
+    }
+
     /**
      * Registra uma nova adoção no sistema.
      * 
@@ -87,11 +110,11 @@ public class AdocaoRestController {
      * </ul>
      * @param adotanteId ID do adotante (passado como campo de formulário)
      * @param petId ID do pet a ser adotado (passado como campo de formulário)
-     * @return A entidade salva com status 200 OK
+     * @return A adoção salva, com status 200 OK
      * @throws ResponseStatusException se algum dos IDs fornecidos for inválido
      */
     @PostMapping(path={"/", ""}, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Adocao> salvarAdocao(
+    public ResponseEntity<AdocaoResposta> salvarAdocao(
         @RequestParam(value = "adotanteId", required = false) Long adotanteId,
         @RequestParam(value = "petId", required = false) Long petId
     ) throws IOException {
@@ -100,7 +123,7 @@ public class AdocaoRestController {
         Pet pet = petRepository.findById(petId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Pet inválido"));
         Adocao salva = adocaoService.registrarAdocao(petId, adotanteId);
-        return ResponseEntity.ok(salva);
+        return ResponseEntity.ok(AdocaoResposta.de(salva));
     }
 
     /**
@@ -3,12 +3,15 @@ package app.adocao.pets.controller;
 import app.adocao.pets.repository.AdotanteRepository;
 import app.adocao.pets.repository.AdocaoRepository;
 import app.adocao.pets.model.Adotante;
+import app.adocao.pets.service.VersaoDados;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 /**
  * Controlador responsável por gerenciar adotantes via interface web.
@@ -23,6 +26,9 @@ public class AdotanteController {
     @Autowired
     private AdocaoRepository adocaoRepository;
 
+    @Autowired
+    private VersaoDados versaoDados;
+
     /**
      * Exibe a lista de todos os adotantes cadastrados.
      * View: adotantes/list.html
@@ -55,13 +61,20 @@ public class AdotanteController {
      * @param Adotante adotante Objeto adotante preenchido no formulário
      * @param result Resultado da validação do formulário
      * @param model Modelo para passar dados para a view
+     * @param atributos Atributos do redirecionamento, com o erro de edição concorrente
      */
     @PostMapping("/salvar")
-    public String salvarAdotante(@Valid Adotante adotante, BindingResult result, Model model) {
+    public String salvarAdotante(@Valid Adotante adotante, BindingResult result, Model model, RedirectAttributes atributos) {
         if (result.hasErrors()) {
             return "adotantes/form";
         }
-        adotanteRepository.save(adotante);
+        try {
+            adotanteRepository.save(adotante);
+        } catch (OptimisticLockingFailureException e) {
+            return EdicaoConcorrente.redirecionar(atributos, "/adotantes", adotante.getId(),
+                    adotanteRepository.existsById(adotante.getId()));
+        }
+        versaoDados.incrementar(VersaoDados.Conjunto.ADOTANTES);
         return "redirect:/adotantes";
     }
 
@@ -101,6 +114,7 @@ public class AdotanteController {
         }
 
         adotanteRepository.delete(adotante);
+        versaoDados.incrementar(VersaoDados.Conjunto.ADOTANTES);
 
         return "redirect:/adotantes";
     }
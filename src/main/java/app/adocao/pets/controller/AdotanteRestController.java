@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import app.adocao.pets.model.Adotante;
 import app.adocao.pets.repository.AdotanteRepository;
@@ -16,6 +17,8 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.RequestHeader;
 import app.adocao.pets.repository.AdotanteRepository;
 import java.util.List;
 import app.adocao.pets.repository.RacaRepository;
@@ -24,6 +27,7 @@ import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.MediaType;
 import java.io.IOException;
 import app.adocao.pets.repository.AdocaoRepository;
+import app.adocao.pets.service.VersaoDados;
 
 /**
  * Controlador REST responsável por gerenciar as operações relacionadas à entidade Adotante.
@@ -34,10 +38,13 @@ public class AdotanteRestController {
 
     private final AdotanteRepository adotanteRepository;
     private final AdocaoRepository adocaoRepository;
+    private final VersaoDados versaoDados;
 
-    public AdotanteRestController(AdotanteRepository adotanteRepository, AdocaoRepository adocaoRepository) {
+    public AdotanteRestController(AdotanteRepository adotanteRepository, AdocaoRepository adocaoRepository,
+                                  VersaoDados versaoDados) {
         this.adocaoRepository = adocaoRepository;
         this.adotanteRepository = adotanteRepository;
+        this.versaoDados = versaoDados;
     }
 
 
@@ -47,6 +54,7 @@ public class AdotanteRestController {
      * @return Lista de adotantes
      */
     @GetMapping({"/", ""})
+    @Transactional(readOnly = true)
     public List<Adotante> listarAdotantes() {
         return adotanteRepository.findAll();
     }
@@ -55,12 +63,22 @@ public class AdotanteRestController {
      * Busca uma adotante específica pelo seu ID.
      * Endpoint acessado via GET em /api/adocoes/{id}
      * @param id ID da adotante
-     * @return Adotante encontrada ou 404
+     * @return Adotante encontrada, 304 se o <code>If-None-Match</code> tiver o ETag atual, ou 404
      */
     @GetMapping({"/{id}", "{id}/"})
-    public ResponseEntity<Adotante> buscarPorId(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<Adotante> buscarPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            String etag = adotanteRepository.buscarVersao(id).map(Etags::de).orElse(null);
+            if (Etags.naoModificado(ifNoneMatch, etag)) {
+                return Etags.respostaNaoModificada(etag);
+            }
+        }
         return adotanteRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(adotante -> ResponseEntity.ok().eTag(Etags.de(adotante.getVersao())).body(adotante))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -96,6 +114,7 @@ public class AdotanteRestController {
         adotante.setEmail(email);
         adotante.setCpf(cpf);
         Adotante salva = adotanteRepository.save(adotante);
+        versaoDados.incrementar(VersaoDados.Conjunto.ADOTANTES);
         return ResponseEntity.ok(salva);
     }
 
@@ -112,11 +131,12 @@ public class AdotanteRestController {
      * 
      * @param id ID da adotante a ser atualizada
      * @param adotanteAtualizada Dados atualizados da adotante
-     * @return Adotante atualizada ou 404
+     * @return Adotante atualizada, 404, ou 412 se o <code>If-Match</code> não tiver o ETag atual
      */
     @PutMapping(path = {"/{id}", "/{id}/"}, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Adotante> atualizarAdotante(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam(value = "nome", required = false) String nome,
             @RequestParam(value = "cpf", required = false) String cpf,
             @RequestParam(value = "email", required = false) String email
@@ -124,6 +144,7 @@ public class AdotanteRestController {
 
         return adotanteRepository.findById(id)
                 .map(adotanteExistente -> {
+                    Etags.verificarIfMatch(ifMatch, Etags.de(adotanteExistente.getVersao()));
 
                     if (nome != null) {
                         adotanteExistente.setNome(nome);
@@ -141,7 +162,8 @@ public class AdotanteRestController {
                     }
 
                     Adotante salvo = adotanteRepository.save(adotanteExistente);
-                    return ResponseEntity.ok(salvo);
+                    versaoDados.incrementar(VersaoDados.Conjunto.ADOTANTES);
+                    return ResponseEntity.ok().eTag(Etags.de(salvo.getVersao())).body(salvo);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -162,6 +184,7 @@ public class AdotanteRestController {
         }
 
         adotanteRepository.delete(adotante);
+        versaoDados.incrementar(VersaoDados.Conjunto.ADOTANTES);
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,32 @@
+package app.adocao.pets.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+import java.io.IOException;
+
+/**
+ * Alterações da API que perderam a corrida para outra escrita no mesmo registro.
+ *
+ * O {@code If-Match} é conferido com a entidade carregada ({@link Etags#verificarIfMatch});
+ * se outra requisição confirmar uma alteração entre essa leitura e o {@code save}, o
+ * {@code @Version} faz o UPDATE falhar. Quem enviou {@code If-Match} recebe
+ * {@code 412}, como se a versão já estivesse desatualizada na leitura; sem ele, {@code 409}.
+ */
+@RestControllerAdvice(annotations = RestController.class)
+public class AlteracaoConcorrenteAdvice {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public void alteracaoConcorrente(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        response.sendError(status.value(), "O recurso foi alterado por outra requisição");
+    }
+}
@@ -0,0 +1,36 @@
+package app.adocao.pets.controller;
+
+import app.adocao.pets.dto.CamposResposta;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+/**
+ * Aplica o parâmetro {@code ?fields=} às respostas JSON da API.
+ *
+ * Exemplo: {@code GET /api/pets?fields=nome,fotoUrl} devolve cada pet apenas com
+ * {@code id}, {@code nome} e {@code fotoUrl}. Ver {@link CamposResposta}.
+ */
+@ControllerAdvice
+public class CamposRespostaAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+
+    private static final String PARAMETRO = "fields";
+
+    @Override
+    protected void beforeBodyWriteInternal(MappingJacksonValue valor, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest servletRequest)) {
+            return;
+        }
+        String campos = servletRequest.getServletRequest().getParameter(PARAMETRO);
+        if (campos != null && !campos.isBlank()) {
+            valor.setFilters(CamposResposta.apenas(campos));
+        }
+    }
+}
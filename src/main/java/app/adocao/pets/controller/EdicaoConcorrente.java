@@ -0,0 +1,34 @@
+package app.adocao.pets.controller;
+
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
+
+/**
+ * Formulários web salvos sobre uma versão desatualizada do registro.
+ *
+ * Os formulários de edição enviam a {@code versao} lida junto com os dados; se outra
+ * pessoa salvou (ou removeu) o registro nesse meio tempo, o {@code @Version} faz o UPDATE
+ * falhar. Em vez da página de erro, o usuário volta ao formulário com os dados atuais e
+ * uma mensagem, ou à lista se o registro não existe mais (sem mensagem: as listas passam
+ * pelo cache de páginas, que não considera atributos de redirecionamento).
+ */
+final class EdicaoConcorrente {
+
+    private EdicaoConcorrente() {
+    }
+
+    /**
+     * @param atributos Atributos do redirecionamento, onde a mensagem é guardada como {@code erro}
+     * @param caminho Caminho da lista do cadastro, como {@code /pets}
+     * @param id ID do registro editado
+     * @param existe Se o registro ainda existe
+     * @return Redirecionamento para o formulário de edição ou para a lista
+     */
+    static String redirecionar(RedirectAttributes atributos, String caminho, Long id, boolean existe) {
+        if (!existe) {
+            return "redirect:" + caminho;
+        }
+        atributos.addFlashAttribute("erro",
+                "O registro foi alterado por outra pessoa enquanto você o editava. Confira os dados atuais e salve novamente.");
+        return "redirect:" + caminho + "/editar/" + id;
+    }
+}
@@ -4,13 +4,17 @@ import app.adocao.pets.model.Especie;
 import app.adocao.pets.model.Raca;
 import app.adocao.pets.repository.EspecieRepository;
 import app.adocao.pets.repository.RacaRepository;
+import app.adocao.pets.service.BuscaPetService;
+import app.adocao.pets.service.CatalogoCache;
 import app.adocao.pets.service.EspecieService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 
 /**
@@ -33,13 +37,19 @@ public class EspecieController {
     @Autowired
     private RacaRepository racaRepository;
 
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private BuscaPetService buscaPetService;
+
     /**
      * Exibe a lista de todas as espécies cadastradas.
      * View: adotantes/list.html
      */
     @GetMapping
     public String listarEspecies(Model model) {
-        model.addAttribute("especies", especieRepository.findAll());
+        model.addAttribute("especies", catalogoCache.listarEspecies());
         return "especies/list";
     }
 
@@ -61,13 +71,24 @@ public class EspecieController {
      * @param Especie especie Objeto especie preenchido no formulário
      * @param result Resultado da validação do formulário
      * @param model Modelo para passar dados para a view
+     * @param atributos Atributos do redirecionamento, com o erro de edição concorrente
      */
     @PostMapping("/salvar")
-    public String salvarEspecie(@Valid Especie especie, BindingResult result, Model model) {
+    public String salvarEspecie(@Valid Especie especie, BindingResult result, Model model, RedirectAttributes atributos) {
         if (result.hasErrors()) {
             return "especies/form";
         }
-        especieService.salvarEspecieCriarRacaSRD(especie);
+        boolean edicao = especie.getId() != null;
+        try {
+            especieService.salvarEspecieCriarRacaSRD(especie);
+        } catch (OptimisticLockingFailureException e) {
+            return EdicaoConcorrente.redirecionar(atributos, "/especies", especie.getId(),
+                    especieRepository.existsById(especie.getId()));
+        }
+        if (edicao) {
+            // O nome da espécie faz parte dos documentos de busca dos pets
+            buscaPetService.reindexar();
+        }
 
         return "redirect:/especies";
     }
@@ -100,11 +121,12 @@ public class EspecieController {
 
         if (!racaRepository.findByEspecie(especie).isEmpty()) {
             model.addAttribute("erro", "Não é possível excluir a espécie. Há raças associadas.");
-            model.addAttribute("especies", especieRepository.findAll());
+            model.addAttribute("especies", catalogoCache.listarEspecies());
             return "especies/list"; 
         }
 
         especieRepository.delete(especie);
+        catalogoCache.recarregar();
 
         return "redirect:/especies";
     }
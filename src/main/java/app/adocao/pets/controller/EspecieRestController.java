@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import app.adocao.pets.model.Especie;
 import app.adocao.pets.repository.EspecieRepository;
@@ -16,7 +17,11 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.RequestHeader;
 import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.service.BuscaPetService;
+import app.adocao.pets.service.CatalogoCache;
 import app.adocao.pets.service.EspecieService;
 import java.util.List;
 import app.adocao.pets.repository.RacaRepository;
@@ -35,12 +40,18 @@ public class EspecieRestController {
     private final EspecieRepository especieRepository;
     private final RacaRepository racaRepository;
     private final EspecieService especieService;
+    private final CatalogoCache catalogoCache;
+    private final BuscaPetService buscaPetService;
 
     public EspecieRestController(
         EspecieRepository especieRepository, 
         RacaRepository racaRepository,
-        EspecieService especieService
+        EspecieService especieService,
+        CatalogoCache catalogoCache,
+        BuscaPetService buscaPetService
         ) {
+            this.buscaPetService = buscaPetService;
+            this.catalogoCache = catalogoCache;
             this.especieService = especieService;
             this.racaRepository = racaRepository;
             this.especieRepository = especieRepository;
@@ -53,20 +64,31 @@ public class EspecieRestController {
      * @return Lista de espécies
      */
     @GetMapping({"/", ""})
+    @Transactional(readOnly = true)
     public List<Especie> listarEspecies() {
-        return especieRepository.findAll();
+        return catalogoCache.listarEspecies();
     }
 
     /**
      * Busca uma espécie específica pelo seu ID.
      * Endpoint acessado via GET em /api/especies/{id}
+     * O ETag vem do {@link CatalogoCache}, então o 304 não consulta o banco.
      * @param id ID da espécie
-     * @return Espécie encontrada ou 404
+     * @return Espécie encontrada, 304 se o <code>If-None-Match</code> tiver o ETag atual, ou 404
      */
     @GetMapping({"/{id}", "{id}/"})
-    public ResponseEntity<Especie> buscarPorId(@PathVariable Long id) {
-        return especieRepository.findById(id)
-                .map(ResponseEntity::ok)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Especie> buscarPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return catalogoCache.buscarEspecie(id)
+                .map(especie -> {
+                    String etag = Etags.de(especie.getVersao());
+                    return Etags.naoModificado(ifNoneMatch, etag)
+                            ? Etags.<Especie>respostaNaoModificada(etag)
+                            : ResponseEntity.ok().eTag(etag).body(especie);
+                })
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -104,23 +126,28 @@ public class EspecieRestController {
      * 
      * @param id ID da espécie a ser atualizada
      * @param especieAtualizada Dados atualizados da espécie
-     * @return Espécie atualizada ou 404
+     * @return Espécie atualizada, 404, ou 412 se o <code>If-Match</code> não tiver o ETag atual
      */
     @PutMapping(path = {"/{id}", "/{id}/"}, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
     public ResponseEntity<Especie> atualizarEspecie(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam(value = "nome", required = false) String nome
     ) throws IOException {
 
         return especieRepository.findById(id)
                 .map(especieExistente -> {
+                    Etags.verificarIfMatch(ifMatch, Etags.de(especieExistente.getVersao()));
 
                     if (nome != null) {
                         especieExistente.setNome(nome);
                     }
 
                     Especie salvo = especieRepository.save(especieExistente);
-                    return ResponseEntity.ok(salvo);
+                    catalogoCache.recarregar();
+                    // O nome da espécie faz parte dos documentos de busca dos pets
+                    buscaPetService.reindexar();
+                    return ResponseEntity.ok().eTag(Etags.de(salvo.getVersao())).body(salvo);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -141,6 +168,7 @@ public class EspecieRestController {
         }
 
         especieRepository.delete(especie);
+        catalogoCache.recarregar();
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,43 @@
+package app.adocao.pets.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import app.adocao.pets.dto.EstatisticasAdocao;
+import app.adocao.pets.service.EstatisticaAdocaoService;
+import java.util.Map;
+
+/**
+ * Controlador REST que expõe as estatísticas de adoções.
+ */
+@RestController
+@RequestMapping("/api/estatisticas")
+public class EstatisticaRestController {
+
+    private final EstatisticaAdocaoService estatisticaAdocaoService;
+
+    public EstatisticaRestController(EstatisticaAdocaoService estatisticaAdocaoService) {
+        this.estatisticaAdocaoService = estatisticaAdocaoService;
+    }
+
+    /**
+     * Retorna os totais de adoções por espécie, raça e mês.
+     * Endpoint acessado via GET em /api/estatisticas
+     * @return Estatísticas de adoções
+     */
+    @GetMapping({"", "/"})
+    public EstatisticasAdocao consultar() {
+        return estatisticaAdocaoService.consultar();
+    }
+
+    /**
+     * Recalcula as estatísticas a partir das adoções.
+     * Endpoint acessado via POST em /api/estatisticas/reconstrucao
+     * @return Quantidade de linhas (raça e mês) geradas
+     */
+    @PostMapping({"/reconstrucao", "/reconstrucao/"})
+    public Map<String, Integer> reconstruir() {
+        return Map.of("linhas", estatisticaAdocaoService.reconstruir());
+    }
+}
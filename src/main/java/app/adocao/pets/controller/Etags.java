@@ -0,0 +1,79 @@
+package app.adocao.pets.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * ETags das respostas da API, formados pelas versões ({@code @Version}) da entidade e das
+ * entidades exibidas junto com ela, separadas por hífen: o pet {@code "4-1-0-2"} está na
+ * versão 4, com a raça na 1, a espécie na 0 e o adotante na 2. Renomear a raça muda o
+ * ETag do pet, porque o nome da raça faz parte da resposta.
+ *
+ * As consultas {@code buscarVersoes} dos repositórios montam o mesmo texto no banco,
+ * para responder {@code If-None-Match} sem carregar as entidades.
+ */
+final class Etags {
+
+    private Etags() {
+    }
+
+    /**
+     * ETag a partir das versões das entidades; entidade ausente conta como versão 0.
+     */
+    static String de(Long... versoes) {
+        return de(Arrays.stream(versoes)
+                .map(versao -> String.valueOf(versao != null ? versao : 0))
+                .collect(Collectors.joining("-")));
+    }
+
+    /**
+     * ETag a partir das versões já concatenadas por uma consulta {@code buscarVersoes}.
+     */
+    static String de(String versoes) {
+        return "\"" + versoes + "\"";
+    }
+
+    /**
+     * Indica se o cabeçalho {@code If-None-Match} contém o ETag atual, caso em que a
+     * resposta é {@code 304 Not Modified}. A comparação é fraca ({@code W/} é ignorado).
+     */
+    static boolean naoModificado(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidato : ifNoneMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || valor.equals(etag) || valor.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static <T> ResponseEntity<T> respostaNaoModificada(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).build();
+    }
+
+    /**
+     * Rejeita com {@code 412 Precondition Failed} uma alteração feita sobre uma versão
+     * que não é mais a atual. Sem {@code If-Match}, a alteração é aceita. A comparação é
+     * forte: um ETag fraco nunca corresponde.
+     */
+    static void verificarIfMatch(String ifMatch, String etag) {
+        if (ifMatch == null) {
+            return;
+        }
+        for (String candidato : ifMatch.split(",")) {
+            String valor = candidato.trim();
+            if (valor.equals("*") || valor.equals(etag)) {
+                return;
+            }
+        }
+        throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED,
+                "O recurso foi alterado desde a versão " + ifMatch + "; a versão atual é " + etag);
+    }
+}
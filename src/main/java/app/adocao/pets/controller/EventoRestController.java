@@ -0,0 +1,36 @@
+package app.adocao.pets.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import app.adocao.pets.service.EventoPetService;
+
+/**
+ * Controlador REST que publica as alterações de pets e adoções via Server-Sent Events.
+ */
+@RestController
+@RequestMapping("/api/eventos")
+public class EventoRestController {
+
+    private final EventoPetService eventoPetService;
+
+    public EventoRestController(EventoPetService eventoPetService) {
+        this.eventoPetService = eventoPetService;
+    }
+
+    /**
+     * Abre o fluxo de eventos.
+     * Endpoint acessado via GET em /api/eventos
+     * Eventos: pet-criado, pet-atualizado, pet-removido, adocao-registrada,
+     * adocao-removida e reinicio (o cliente deve recarregar o estado completo).
+     * @param ultimoId Cabeçalho Last-Event-ID, enviado pelo navegador ao reconectar
+     * @return Fluxo SSE
+     */
+    @GetMapping(path = {"", "/"}, produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter eventos(@RequestHeader(value = "Last-Event-ID", required = false) String ultimoId) {
+        return eventoPetService.inscrever(ultimoId);
+    }
+}
@@ -1,18 +1,36 @@
 package app.adocao.pets.controller;
 
+import app.adocao.pets.dto.EventoPet;
 import app.adocao.pets.model.Pet;
 import app.adocao.pets.repository.PetRepository;
 import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.service.AdocaoService;
+import app.adocao.pets.service.BuscaPetService;
+import app.adocao.pets.service.CatalogoCache;
+import app.adocao.pets.service.FotoDerivadaService;
+import app.adocao.pets.storage.PhotoStore;
+import app.adocao.pets.storage.TamanhoFoto;
+import app.adocao.pets.storage.TipoImagem;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.CacheControl;
+import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -31,13 +49,35 @@ public class PetController {
     @Autowired
     private EspecieRepository especieRepository;
 
+    @Autowired
+    private PhotoStore photoStore;
+
+    @Autowired
+    private FotoDerivadaService fotoDerivadaService;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BuscaPetService buscaPetService;
+
+    @Autowired
+    private AdocaoService adocaoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
     /**
      * Exibe a lista de todos os pets cadastradas.
      * View: pets/list.html
+     * Usa a projeção {@link app.adocao.pets.dto.PetResumo}, carregada com uma única consulta.
      */
     @GetMapping
     public String listarPets(Model model) {
-        model.addAttribute("pets", petRepository.findAll());
+        model.addAttribute("pets", petRepository.listarResumos());
         return "pets/list";  // Nome da view Thymeleaf
     }
 
@@ -54,7 +94,7 @@ public class PetController {
      */
     @GetMapping("/novo")
     public String mostrarFormNovoPet(Pet pet, Model model) {
-        model.addAttribute("especies", especieRepository.findAll());
+        model.addAttribute("especies", catalogoCache.listarEspecies());
         return "pets/form";
     }
 
@@ -66,23 +106,36 @@ public class PetController {
      * @param fotoArquivo foto do pet enviada como MultipartFile
      * @param result Resultado da validação do formulário
      * @param model Modelo para passar dados para a view
+     * @param atributos Atributos do redirecionamento, com o erro de edição concorrente
      */
     @PostMapping("/salvar")
     public String salvarPet(
         @Valid Pet pet,
         @RequestParam("fotoArquivo") MultipartFile foto,
         BindingResult result,
-        Model model
+        Model model,
+        RedirectAttributes atributos
         ) throws IOException {
             if (!foto.isEmpty()) {
-                pet.setFoto(foto.getBytes());
+                try (InputStream conteudo = foto.getInputStream()) {
+                    pet.setFotoHash(photoStore.salvar(conteudo));
+                }
+                fotoDerivadaService.agendar(pet.getFotoHash());
             }
 
             if (result.hasErrors()) {
-                model.addAttribute("especies", especieRepository.findAll());
+                model.addAttribute("especies", catalogoCache.listarEspecies());
                 return "pets/form";
             }
-            petRepository.save(pet);
+            boolean novo = pet.getId() == null;
+            Pet salvo;
+            try {
+                salvo = petRepository.save(pet);
+            } catch (OptimisticLockingFailureException e) {
+                return EdicaoConcorrente.redirecionar(atributos, "/pets", pet.getId(), petRepository.existsById(pet.getId()));
+            }
+            buscaPetService.indexar(salvo);
+            eventos.publishEvent(novo ? EventoPet.petCriado(salvo) : EventoPet.petAtualizado(salvo));
             return "redirect:/pets";
     }
 
@@ -102,7 +155,7 @@ public class PetController {
         Pet pet = petRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Pet inválido: " + id));
         model.addAttribute("pet", pet);
-        model.addAttribute("especies", especieRepository.findAll());
+        model.addAttribute("especies", catalogoCache.listarEspecies());
         return "pets/form";
     }
 
@@ -113,9 +166,13 @@ public class PetController {
      */
     @GetMapping("/deletar/{id}")
     public String deletarPet(@PathVariable("id") long id) {
-        Pet pet = petRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Pet inválido: " + id));
-        petRepository.delete(pet);
+        if (!petRepository.existsById(id)) {
+            throw new IllegalArgumentException("Pet inválido: " + id);
+        }
+        // A adoção é removida pelo serviço, para ser descontada das estatísticas
+        adocaoService.deletarPet(id);
+        buscaPetService.remover(id);
+        eventos.publishEvent(EventoPet.petRemovido(id));
         return "redirect:/pets";
     }
 
@@ -135,18 +192,63 @@ public class PetController {
     /**
      * Exibe a foto de um pet.
      *
+     * A resposta usa o hash do conteúdo como ETag forte, permitindo que o navegador
+     * revalide a foto com {@code If-None-Match} e receba 304 sem que a foto seja lida.
+     * Quando a URL traz a versão da foto ({@code ?v=<hash>}), o conteúdo daquela URL
+     * nunca muda e pode ficar em cache indefinidamente.
+     *
      * @param id ID do pet
+     * @param versao Hash da foto, usado para versionar a URL (opcional)
+     * @param size Tamanho da foto: thumb, card, full ou original (padrão)
      */
     @GetMapping("/foto/{id}")
     @ResponseBody
-    public ResponseEntity<byte[]> exibirFoto(@PathVariable Long id) {
-        Pet pet = petRepository.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Pet inválido: " + id));
+    public ResponseEntity<Resource> exibirFoto(
+            @PathVariable Long id,
+            @RequestParam(value = "v", required = false) String versao,
+            @RequestParam(value = "size", required = false) String size,
+            WebRequest request
+    ) throws IOException {
+        TamanhoFoto tamanho;
+        try {
+            tamanho = TamanhoFoto.de(size);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Tamanho de foto inválido: " + size);
+        }
+
+        String hash = petRepository.findFotoHashById(id).orElse(null);
+        if (hash == null) {
+            return ResponseEntity.notFound().build();
+        }
+        String etag = tamanho == TamanhoFoto.ORIGINAL ? hash : hash + "-" + tamanho.getNome();
+
+        CacheControl cacheControl = hash.equals(versao)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache();
+
+        // checkNotModified já define o status 304 e o cabeçalho ETag na resposta
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
 
-        byte[] imagem = pet.getFoto();
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.IMAGE_JPEG);
-        return new ResponseEntity<>(imagem, headers, HttpStatus.OK);
+        Resource imagem = fotoDerivadaService.carregar(hash, tamanho).orElse(null);
+        if (imagem == null) {
+            return ResponseEntity.notFound().build();
+        }
+        DistributionSummary.builder("pets.fotos.bytes")
+                .description("Bytes de fotos servidos por exibirFoto")
+                .baseUnit("bytes")
+                .tag("tamanho", tamanho.getNome())
+                .register(meterRegistry)
+                .record(imagem.contentLength());
+        return ResponseEntity.ok()
+                .contentType(TipoImagem.detectar(imagem))
+                .eTag(etag)
+                .lastModified(imagem.lastModified())
+                .cacheControl(cacheControl)
+                .body(imagem);
     }
 
 }
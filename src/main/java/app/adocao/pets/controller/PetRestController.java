@@ -5,11 +5,28 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import app.adocao.pets.dto.Pagina;
 import app.adocao.pets.model.Pet;
 import app.adocao.pets.repository.PetRepository;
 import app.adocao.pets.model.Raca;
 import app.adocao.pets.repository.RacaRepository;
+import app.adocao.pets.service.AdocaoService;
+import app.adocao.pets.service.BuscaPetService;
+import app.adocao.pets.dto.EventoPet;
+import org.springframework.context.ApplicationEventPublisher;
+import app.adocao.pets.service.CatalogoCache;
+import app.adocao.pets.dto.PetResumo;
+import app.adocao.pets.dto.PetResposta;
+import app.adocao.pets.dto.FaixaIdade;
+import app.adocao.pets.dto.ResultadoFacetado;
+import app.adocao.pets.service.NavegacaoPetService;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import app.adocao.pets.service.FotoDerivadaService;
+import app.adocao.pets.storage.PhotoStore;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.http.MediaType;
@@ -17,12 +34,22 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.RequestHeader;
 import java.io.IOException;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import app.adocao.pets.dto.ResultadoImportacao;
+import app.adocao.pets.service.ImportacaoPetService;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
 
 /**
  * Controlador REST responsável por gerenciar as operações relacionadas à entidade Pet.
@@ -31,44 +58,199 @@ import org.springframework.web.bind.annotation.DeleteMapping;
 @RequestMapping("/api/pets")
 public class PetRestController {
 
+    private static final int LIMITE_PADRAO = 20;
+    private static final int LIMITE_MAXIMO = 100;
+
     @Autowired
     private PetRepository petRepository;
 
     @Autowired
     private RacaRepository racaRepository;
 
+    @Autowired
+    private PhotoStore photoStore;
+
+    @Autowired
+    private FotoDerivadaService fotoDerivadaService;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private ImportacaoPetService importacaoPetService;
+
+    @Autowired
+    private BuscaPetService buscaPetService;
+
+    @Autowired
+    private NavegacaoPetService navegacaoPetService;
+
+    @Autowired
+    private AdocaoService adocaoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
     /**
-     * Lista todos os pets disponíveis para adoção.
+     * Lista os pets disponíveis para adoção, paginados por cursor.
      * Endpoint acessado via GET em /api/pets/disponiveis
-     * @return Lista de pets
+     * Parâmetros opcionais:
+     * <ul>
+     *   <li><code>after</code>: cursor (ID do último pet da página anterior)</li>
+     *   <li><code>limit</code>: tamanho da página (padrão 20, máximo 100)</li>
+     *   <li><code>especieId</code>, <code>racaId</code>: filtros por espécie e raça</li>
+     *   <li><code>idadeMin</code>, <code>idadeMax</code>: faixa de idade</li>
+     * </ul>
+     * @return Página de pets com o cursor da próxima página
      */
     @GetMapping({"/disponiveis", "/disponiveis/"})
-    public List<Pet> listarNaoAdotados() {
-        return petRepository.findByAdotadoFalse();
+    @Transactional(readOnly = true)
+    public Pagina<PetResposta> listarNaoAdotados(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "" + LIMITE_PADRAO) int limit,
+            @RequestParam(value = "especieId", required = false) Long especieId,
+            @RequestParam(value = "racaId", required = false) Long racaId,
+            @RequestParam(value = "idadeMin", required = false) Integer idadeMin,
+            @RequestParam(value = "idadeMax", required = false) Integer idadeMax
+    ) {
+        return buscarPagina(after, limit, false, especieId, racaId, idadeMin, idadeMax);
     }
 
     /**
-     * Lista todos os pets cadastrados.
+     * Navegação por facetas dos pets disponíveis para adoção.
+     * Endpoint acessado via GET em /api/pets/disponiveis/facetas
+     * Parâmetros opcionais:
+     * <ul>
+     *   <li><code>especieId</code>, <code>racaId</code>: filtros por espécie e raça</li>
+     *   <li><code>idade</code>: faixa de idade (<code>filhote</code>, <code>jovem</code>, <code>adulto</code> ou <code>idoso</code>)</li>
+     *   <li><code>q</code>: texto, com a mesma sintaxe de /api/pets/busca</li>
+     *   <li><code>after</code>, <code>limit</code>: paginação por cursor, como em /api/pets/disponiveis</li>
+     * </ul>
+     * @return Página de pets, total e contagens por espécie, raça e faixa de idade
+     */
+    @GetMapping({"/disponiveis/facetas", "/disponiveis/facetas/"})
+    @Transactional(readOnly = true)
+    public ResultadoFacetado navegarDisponiveis(
+            @RequestParam(value = "especieId", required = false) Long especieId,
+            @RequestParam(value = "racaId", required = false) Long racaId,
+            @RequestParam(value = "idade", required = false) String idade,
+            @RequestParam(value = "q", required = false) String q,
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "" + LIMITE_PADRAO) int limit
+    ) {
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        FaixaIdade faixa;
+        try {
+            faixa = FaixaIdade.de(idade);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Faixa de idade inválida: " + idade);
+        }
+        return navegacaoPetService.navegar(new NavegacaoPetService.Filtro(especieId, racaId, faixa, q), after, limit);
+    }
+
+    /**
+     * Lista os pets cadastrados, paginados por cursor.
      * Endpoint acessado via GET em /api/pets/
-     * @return Lista de pets
+     * Aceita os mesmos parâmetros de /api/pets/disponiveis.
+     * @return Página de pets com o cursor da próxima página
      */
     @GetMapping({"/", ""})
-    public List<Pet> listarPets() {
-        return petRepository.findAll();
+    @Transactional(readOnly = true)
+    public Pagina<PetResposta> listarPets(
+            @RequestParam(value = "after", defaultValue = "0") long after,
+            @RequestParam(value = "limit", defaultValue = "" + LIMITE_PADRAO) int limit,
+            @RequestParam(value = "especieId", required = false) Long especieId,
+            @RequestParam(value = "racaId", required = false) Long racaId,
+            @RequestParam(value = "idadeMin", required = false) Integer idadeMin,
+            @RequestParam(value = "idadeMax", required = false) Integer idadeMax
+    ) {
+        return buscarPagina(after, limit, null, especieId, racaId, idadeMin, idadeMax);
+    }
+
+    private Pagina<PetResposta> buscarPagina(long after, int limit, Boolean adotado, Long especieId,
+                                     Long racaId, Integer idadeMin, Integer idadeMax) {
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        // Busca um registro a mais apenas para saber se existe próxima página
+        List<Pet> pets = petRepository.buscarPagina(
+                after, adotado, especieId, racaId, idadeMin, idadeMax, Limit.of(limit + 1));
+        return Pagina.de(pets, limit, Pet::getId).map(PetResposta::de);
+    }
+
+    /**
+     * Busca textual de pets por nome, descrição, raça e espécie, com os resultados
+     * ordenados por relevância. Acentos e plurais são ignorados ("docil" encontra "Dócil").
+     * Endpoint acessado via GET em /api/pets/busca?q=
+     * Parâmetros:
+     * <ul>
+     *   <li><code>q</code>: texto da busca; todos os termos são obrigatórios, e aceita
+     *       <code>"frase exata"</code>, <code>termo | outro</code> e <code>-excluído</code></li>
+     *   <li><code>limit</code>: quantidade máxima de resultados (padrão 20, máximo 100)</li>
+     * </ul>
+     * @return Pets encontrados, do mais para o menos relevante
+     */
+    @GetMapping({"/busca", "/busca/"})
+    @Transactional(readOnly = true)
+    public List<PetResumo> buscarPets(
+            @RequestParam("q") String q,
+            @RequestParam(value = "limit", defaultValue = "" + LIMITE_PADRAO) int limit
+    ) {
+        if (limit < 1 || limit > LIMITE_MAXIMO) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "limit deve estar entre 1 e " + LIMITE_MAXIMO);
+        }
+        if (q.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe o texto da busca");
+        }
+        List<Long> ids = buscaPetService.buscar(q, limit);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        // A consulta devolve os pets fora de ordem; a ordem de relevância vem do índice
+        Map<Long, PetResumo> porId = petRepository.listarResumosPorIds(ids).stream()
+                .collect(Collectors.toMap(PetResumo::id, Function.identity()));
+        return ids.stream().map(porId::get).filter(pet -> pet != null).toList();
     }
 
     /**
      * Busca um pet específica pelo seu ID.
      * Endpoint acessado via GET em /api/pets/{id}
+     * A resposta traz o ETag do pet; com <code>If-None-Match</code> igual ao ETag atual,
+     * devolve 304 consultando apenas as versões (ver {@link Etags}).
      * @return Lista de pets
      */
     @GetMapping({"/{id}", "/{id}/"})
-    public ResponseEntity<Pet> buscarPorId(@PathVariable Long id) {
+    @Transactional(readOnly = true)
+    public ResponseEntity<PetResposta> buscarPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        if (ifNoneMatch != null) {
+            String etag = petRepository.buscarVersoes(id).map(Etags::de).orElse(null);
+            if (Etags.naoModificado(ifNoneMatch, etag)) {
+                return Etags.respostaNaoModificada(etag);
+            }
+        }
         return petRepository.findById(id)
-                .map(ResponseEntity::ok)
+                .map(pet -> ResponseEntity.ok().eTag(etag(pet)).body(PetResposta.de(pet)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * ETag do pet: versões do pet, da raça, da espécie e do adotante, na mesma ordem de
+     * {@link PetRepository#buscarVersoes(Long)}.
+     */
+    private static String etag(Pet pet) {
+        Raca raca = pet.getRaca();
+        return Etags.de(
+                pet.getVersao(),
+                raca != null ? raca.getVersao() : null,
+                pet.getEspecie() != null ? pet.getEspecie().getVersao() : null,
+                pet.getAdotante() != null ? pet.getAdotante().getVersao() : null);
+    }
+
     /**
      * Salva um novo pet no banco de dados.
      * 
@@ -86,14 +268,14 @@ public class PetRestController {
      * @return Espécie salva
      */
     @PostMapping(path = {"", "/"}, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-        public ResponseEntity<Pet> salvarPet(
+        public ResponseEntity<PetResposta> salvarPet(
             @RequestParam("nome") String nome,
             @RequestParam("idade") int idade,
             @RequestParam("racaId") Long racaId,
             @RequestParam("descricao") String descricao,
             @RequestParam("foto") MultipartFile foto
         ) throws IOException {
-            Raca raca = racaRepository.findById(racaId)
+            Raca raca = catalogoCache.buscarRaca(racaId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Raça inválida"));
 
             Pet pet = new Pet();
@@ -101,13 +283,77 @@ public class PetRestController {
             pet.setIdade(idade);
             pet.setRaca(raca);
             pet.setDescricao(descricao);
-            pet.setFoto(foto.getBytes());
+            if (!foto.isEmpty()) {
+                try (InputStream conteudo = foto.getInputStream()) {
+                    pet.setFotoHash(photoStore.salvar(conteudo));
+                }
+                fotoDerivadaService.agendar(pet.getFotoHash());
+            }
             pet.setAdotado(false);
 
             Pet salvo = petRepository.save(pet);
-            return ResponseEntity.status(HttpStatus.CREATED).body(salvo);
+            buscaPetService.indexar(salvo);
+            eventos.publishEvent(EventoPet.petCriado(salvo));
+            return ResponseEntity.status(HttpStatus.CREATED).body(PetResposta.de(salvo));
         }
 
+    /**
+     * Importa pets em lote a partir de um arquivo CSV ou NDJSON.
+     *
+     * Endpoint acessado via POST em /api/pets/importacao
+     * Parâmetros esperados:
+     * <ul>
+     *   <li><code>arquivo</code>: arquivo CSV (com cabeçalho) ou NDJSON com os campos
+     *       <code>nome</code>, <code>idade</code>, <code>racaId</code>, <code>descricao</code>
+     *       e <code>foto</code></li>
+     *   <li><code>fotos</code>: arquivo ZIP opcional com as fotos referenciadas pelo campo <code>foto</code></li>
+     *   <li><code>formato</code>: <code>csv</code> ou <code>ndjson</code>; se omitido, é deduzido
+     *       pela extensão do arquivo</li>
+     * </ul>
+     *
+     * @return Resumo da importação, com os registros rejeitados e o motivo
+     */
+    @PostMapping(path = {"/importacao", "/importacao/"}, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResultadoImportacao importarPets(
+            @RequestParam("arquivo") MultipartFile arquivo,
+            @RequestParam(value = "fotos", required = false) MultipartFile fotos,
+            @RequestParam(value = "formato", required = false) String formato
+    ) throws IOException {
+        ImportacaoPetService.Formato tipo = formatoImportacao(formato, arquivo.getOriginalFilename());
+
+        if (fotos == null || fotos.isEmpty()) {
+            try (InputStream conteudo = arquivo.getInputStream()) {
+                return importacaoPetService.importar(conteudo, tipo, null);
+            }
+        }
+
+        // ZipFile precisa de acesso aleatório, então o ZIP é copiado para um arquivo temporário
+        Path temporario = Files.createTempFile("importacao-fotos", ".zip");
+        try {
+            fotos.transferTo(temporario);
+            try (ZipFile zip = new ZipFile(temporario.toFile());
+                 InputStream conteudo = arquivo.getInputStream()) {
+                return importacaoPetService.importar(conteudo, tipo, zip);
+            } catch (ZipException e) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Arquivo de fotos não é um ZIP válido");
+            }
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private ImportacaoPetService.Formato formatoImportacao(String formato, String nomeArquivo) {
+        String nome = formato != null ? formato : nomeArquivo != null ? nomeArquivo : "";
+        nome = nome.toLowerCase();
+        if (nome.endsWith("csv")) {
+            return ImportacaoPetService.Formato.CSV;
+        }
+        if (nome.endsWith("ndjson") || nome.endsWith("jsonl")) {
+            return ImportacaoPetService.Formato.NDJSON;
+        }
+        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Formato de importação deve ser csv ou ndjson");
+    }
+
     /**
      * Atualiza um pet existente.
      * 
@@ -121,13 +367,17 @@ public class PetRestController {
      *   <li><code>foto</code>: foto do pet</li>
      * </ul>
      * 
+     * Com <code>If-Match</code>, só altera se o pet ainda estiver na versão informada;
+     * caso contrário, responde 412.
+     *
      * @param id ID do pet a ser atualizada
      * @param petAtualizado Dados atualizados da pet
      * @return Raça atualizada ou 404
      */
     @PutMapping(path = {"/{id}", "/{id}/"}, consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<Pet> atualizarPet(
+    public ResponseEntity<PetResposta> atualizarPet(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam(value = "nome", required = false) String nome,
             @RequestParam(value = "idade", required = false) Integer idade,
             @RequestParam(value = "racaId", required = false) Long racaId,
@@ -137,9 +387,10 @@ public class PetRestController {
 
         return petRepository.findById(id)
                 .map(petExistente -> {
+                    Etags.verificarIfMatch(ifMatch, etag(petExistente));
 
                     if (racaId != null) {
-                        Raca raca = racaRepository.findById(racaId)
+                        Raca raca = catalogoCache.buscarRaca(racaId)
                                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Raça inválida"));
                         petExistente.setRaca(raca);
                     }
@@ -158,14 +409,19 @@ public class PetRestController {
 
                     try {
                         if (foto != null && !foto.isEmpty()) {
-                            petExistente.setFoto(foto.getBytes());
+                            try (InputStream conteudo = foto.getInputStream()) {
+                                petExistente.setFotoHash(photoStore.salvar(conteudo));
+                            }
+                            fotoDerivadaService.agendar(petExistente.getFotoHash());
                         }
                     } catch (IOException e) {
                         throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Erro ao ler a imagem", e);
                     }
 
                     Pet salvo = petRepository.save(petExistente);
-                    return ResponseEntity.ok(salvo);
+                    buscaPetService.indexar(salvo);
+                    eventos.publishEvent(EventoPet.petAtualizado(salvo));
+                    return ResponseEntity.ok().eTag(etag(salvo)).body(PetResposta.de(salvo));
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -178,10 +434,14 @@ public class PetRestController {
      */
     @DeleteMapping({"/{id}", "/{id}/"})
     public ResponseEntity<Void> deletarPet(@PathVariable Long id) {
-        Pet pet = petRepository.findById(id)
-            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        if (!petRepository.existsById(id)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND);
+        }
 
-        petRepository.delete(pet);
+        // A adoção é removida pelo serviço, para ser descontada das estatísticas
+        adocaoService.deletarPet(id);
+        buscaPetService.remover(id);
+        eventos.publishEvent(EventoPet.petRemovido(id));
         return ResponseEntity.noContent().build();
     }
 
@@ -4,14 +4,19 @@ import app.adocao.pets.model.Raca;
 import app.adocao.pets.repository.RacaRepository;
 import app.adocao.pets.repository.EspecieRepository;
 import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.AdocaoRepository;
+import app.adocao.pets.service.BuscaPetService;
+import app.adocao.pets.service.CatalogoCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 /**
  * Controlador responsável por gerenciar raças via interface web.
@@ -29,13 +34,22 @@ public class RacaController {
     @Autowired
     private PetRepository petRepository;
 
+    @Autowired
+    private AdocaoRepository adocaoRepository;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private BuscaPetService buscaPetService;
+
     /**
      * Exibe a lista de todas as raças cadastradas.
      * View: racas/list.html
      */
     @GetMapping
     public String listarRacas(Model model) {
-        model.addAttribute("racas", racaRepository.findAll());
+        model.addAttribute("racas", catalogoCache.listarRacas());
         return "racas/list";
     }
 
@@ -49,7 +63,7 @@ public class RacaController {
     @GetMapping("/nova")
     public String mostrarFormNovaRaca(Raca raca, Model model) {
         model.addAttribute("raca", raca);
-        model.addAttribute("especies", especieRepository.findAll());
+        model.addAttribute("especies", catalogoCache.listarEspecies());
         return "racas/form";
     }
 
@@ -60,13 +74,24 @@ public class RacaController {
      * @param Raca raca Objeto raca preenchido no formulário
      * @param result Resultado da validação do formulário
      * @param model Modelo para passar dados para a view
+     * @param atributos Atributos do redirecionamento, com o erro de edição concorrente
      */
     @PostMapping("/salvar")
-    public String salvarRaca(@Valid Raca raca, BindingResult result, Model model) {
+    public String salvarRaca(@Valid Raca raca, BindingResult result, Model model, RedirectAttributes atributos) {
         if (result.hasErrors()) {
             return "racas/form";
         }
-        racaRepository.save(raca);
+        boolean edicao = raca.getId() != null;
+        try {
+            racaRepository.save(raca);
+        } catch (OptimisticLockingFailureException e) {
+            return EdicaoConcorrente.redirecionar(atributos, "/racas", raca.getId(), racaRepository.existsById(raca.getId()));
+        }
+        catalogoCache.recarregar();
+        if (edicao) {
+            // O nome da raça faz parte dos documentos de busca dos pets
+            buscaPetService.reindexar();
+        }
         return "redirect:/racas";
     }
 
@@ -81,7 +106,7 @@ public class RacaController {
     public String mostrarFormEditarRaca(@PathVariable("id") long id, Model model) {
         Raca raca = racaRepository.findById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Espécie inválida: " + id));
-        model.addAttribute("especies", especieRepository.findAll());
+        model.addAttribute("especies", catalogoCache.listarEspecies());
         model.addAttribute("raca", raca);
         return "racas/form";
     }
@@ -99,8 +124,13 @@ public class RacaController {
         if (!petRepository.findByRaca(raca).isEmpty()) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Não é possível excluir a raça. Há pets associados.");
         }
+        // Adoções guardam a raça do pet no momento da adoção, que pode não ser mais a atual
+        if (adocaoRepository.existsByRaca(raca)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Não é possível excluir a raça. Há adoções associadas.");
+        }
 
         racaRepository.delete(raca);
+        catalogoCache.recarregar();
         return "redirect:/racas";
     }
 }
@@ -5,6 +5,7 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
 import app.adocao.pets.model.Raca;
 import app.adocao.pets.repository.EspecieRepository;
@@ -16,13 +17,18 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.RequestHeader;
 import app.adocao.pets.repository.RacaRepository;
 import java.util.List;
 import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.AdocaoRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.MediaType;
 import app.adocao.pets.model.Especie;
+import app.adocao.pets.service.BuscaPetService;
+import app.adocao.pets.service.CatalogoCache;
 import java.io.IOException;
 
 /**
@@ -34,9 +40,17 @@ public class RacaRestController {
 
     private final RacaRepository racaRepository;
     private final PetRepository petRepository;
+    private final AdocaoRepository adocaoRepository;
     private final EspecieRepository especieRepository;
+    private final CatalogoCache catalogoCache;
+    private final BuscaPetService buscaPetService;
 
-    public RacaRestController(RacaRepository racaRepository, PetRepository petRepository, EspecieRepository especieRepository) {
+    public RacaRestController(RacaRepository racaRepository, PetRepository petRepository, EspecieRepository especieRepository,
+                              AdocaoRepository adocaoRepository, CatalogoCache catalogoCache,
+                              BuscaPetService buscaPetService) {
+        this.adocaoRepository = adocaoRepository;
+        this.buscaPetService = buscaPetService;
+        this.catalogoCache = catalogoCache;
         this.especieRepository = especieRepository;
         this.petRepository = petRepository;
         this.racaRepository = racaRepository;
@@ -49,8 +63,9 @@ public class RacaRestController {
      * @return Lista de raças
      */
     @GetMapping({"/por-especie/{id}", "/por-especie/{id}/"})
+    @Transactional(readOnly = true)
     public List<Raca> listarPorEspecie(@PathVariable("id") Long id) {
-        return racaRepository.findByEspecieId(id);
+        return catalogoCache.listarRacasPorEspecie(id);
     }
 
     /**
@@ -59,23 +74,38 @@ public class RacaRestController {
      * @return Lista de raças
      */
     @GetMapping({"/", ""})
+    @Transactional(readOnly = true)
     public List<Raca> listarRacas() {
-        return racaRepository.findAll();
+        return catalogoCache.listarRacas();
     }
 
     /**
      * Busca uma raça específica pelo seu ID.
      * Endpoint acessado via GET em /api/racas/{id}
+     * O ETag vem do {@link CatalogoCache}, então o 304 não consulta o banco.
      * @param id ID da raça
-     * @return Raça encontrada ou 404
+     * @return Raça encontrada, 304 se o <code>If-None-Match</code> tiver o ETag atual, ou 404
      */
     @GetMapping({"/{id}", "/{id}/"})
-    public ResponseEntity<Raca> buscarPorId(@PathVariable Long id) {
-        return racaRepository.findById(id)
-                .map(ResponseEntity::ok)
+    @Transactional(readOnly = true)
+    public ResponseEntity<Raca> buscarPorId(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch
+    ) {
+        return catalogoCache.buscarRaca(id)
+                .map(raca -> Etags.naoModificado(ifNoneMatch, etag(raca))
+                        ? Etags.<Raca>respostaNaoModificada(etag(raca))
+                        : ResponseEntity.ok().eTag(etag(raca)).body(raca))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * ETag da raça: versões da raça e da espécie, cujo nome faz parte da resposta.
+     */
+    private static String etag(Raca raca) {
+        return Etags.de(raca.getVersao(), raca.getEspecie() != null ? raca.getEspecie().getVersao() : null);
+    }
+
     /**
      * Salva uma nova raça no banco de dados.
      * 
@@ -100,6 +130,7 @@ public class RacaRestController {
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Espécie inválida"))
         );
         Raca salva = racaRepository.save(raca);
+        catalogoCache.recarregar();
         return ResponseEntity.ok(salva);
     }
 
@@ -114,16 +145,18 @@ public class RacaRestController {
      * </ul>
      * @param id ID da raça a ser atualizada
      * @param racaAtualizada Dados atualizados da raça
-     * @return Raça atualizada ou 404
+     * @return Raça atualizada, 404, ou 412 se o <code>If-Match</code> não tiver o ETag atual
      */
     @PutMapping({"/{id}", "/{id}/"})
     public ResponseEntity<Raca> atualizarRaca(
             @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestParam(value = "nome", required = false) String nome,
             @RequestParam(value = "especieId", required = false) Long especieId
     ) {
         return racaRepository.findById(id)
                 .map(racaExistente -> {
+                    Etags.verificarIfMatch(ifMatch, etag(racaExistente));
                     if (especieId != null) {
                         Especie especie = especieRepository.findById(especieId)
                                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Espécie inválida"));
@@ -134,7 +167,10 @@ public class RacaRestController {
                         racaExistente.setNome(nome);
                     }
                     Raca salva = racaRepository.save(racaExistente);
-                    return ResponseEntity.ok(salva);
+                    catalogoCache.recarregar();
+                    // O nome da raça faz parte dos documentos de busca dos pets
+                    buscaPetService.reindexar();
+                    return ResponseEntity.ok().eTag(etag(salva)).body(salva);
                 })
                 .orElse(ResponseEntity.notFound().build());
     }
@@ -143,7 +179,7 @@ public class RacaRestController {
      * Deleta uma raça, se não houver pets associados a ela.
      * Endpoint acessado via DELETE em /api/racas/por-especie/{id}
      * @param id ID da raça a ser deletada
-     * @return Resposta com status 204 se bem-sucedido, 404 se não encontrada ou 409 se houver pets associados
+     * @return Resposta com status 204 se bem-sucedido, 404 se não encontrada ou 409 se houver pets ou adoções associados
      */
     @DeleteMapping({"/{id}", "/{id}/"})
     public ResponseEntity<Void> deletarRaca(@PathVariable Long id) {
@@ -153,8 +189,13 @@ public class RacaRestController {
         if (!petRepository.findByRaca(raca).isEmpty()) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Não é possível excluir a raça. Há pets associados.");
         }
+        // Adoções guardam a raça do pet no momento da adoção, que pode não ser mais a atual
+        if (adocaoRepository.existsByRaca(raca)) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Não é possível excluir a raça. Há adoções associadas.");
+        }
 
         racaRepository.delete(raca);
+        catalogoCache.recarregar();
         return ResponseEntity.noContent().build();
     }
 }
@@ -0,0 +1,37 @@
+package app.adocao.pets.dto;
+
+import app.adocao.pets.model.Adocao;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+import java.time.LocalDate;
+
+/**
+ * Representação de uma adoção nas respostas da API, com o pet e o adotante como
+ * {@link Referencia}. Os dados completos ficam em {@code /api/pets/{id}} e
+ * {@code /api/adotantes/{id}}.
+ */
+@JsonFilter(CamposResposta.FILTRO)
+public record AdocaoResposta(
+    Long id,
+    LocalDate dataAdocao,
+    Referencia pet,
+    Referencia adotante
+) {
+
+    /**
+     * Construtor usado pela projeção de {@code AdocaoRepository.listarRespostas()}.
+     */
+    public AdocaoResposta(Long id, LocalDate dataAdocao, Long petId, String petNome,
+                          Long adotanteId, String adotanteNome) {
+        this(id, dataAdocao, new Referencia(petId, petNome), new Referencia(adotanteId, adotanteNome));
+    }
+
+    public static AdocaoResposta de(Adocao adocao) {
+        return new AdocaoResposta(
+            adocao.getId(),
+            adocao.getDataAdocao(),
+            new Referencia(adocao.getPet().getId(), adocao.getPet().getNome()),
+            new Referencia(adocao.getAdotante().getId(), adocao.getAdotante().getNome())
+        );
+    }
+}
@@ -0,0 +1,50 @@
+package app.adocao.pets.dto;
+
+import com.fasterxml.jackson.databind.ser.FilterProvider;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Seleção dos campos das respostas da API pelo parâmetro {@code ?fields=}.
+ *
+ * Os modelos de resposta anotados com {@code @JsonFilter(CamposResposta.FILTRO)} passam
+ * pelo filtro de mesmo nome: sem o parâmetro, todos os campos são serializados; com ele,
+ * apenas os campos pedidos e o {@code id}. Envelopes como {@link Pagina} não são filtrados.
+ */
+public final class CamposResposta {
+
+    public static final String FILTRO = "campos";
+
+    private static final FilterProvider TODOS = new SimpleFilterProvider()
+            .addFilter(FILTRO, SimpleBeanPropertyFilter.serializeAll());
+
+    private CamposResposta() {
+    }
+
+    /**
+     * Filtro que serializa todos os campos, usado quando {@code ?fields=} não é informado.
+     */
+    public static FilterProvider todos() {
+        return TODOS;
+    }
+
+    /**
+     * Filtro que serializa apenas os campos informados e o {@code id}.
+     *
+     * @param campos Valor do parâmetro {@code ?fields=}: nomes separados por vírgula
+     */
+    public static FilterProvider apenas(String campos) {
+        Set<String> nomes = new LinkedHashSet<>();
+        nomes.add("id");
+        Arrays.stream(campos.split(","))
+                .map(String::trim)
+                .filter(nome -> !nome.isEmpty())
+                .forEach(nomes::add);
+        return new SimpleFilterProvider()
+                .addFilter(FILTRO, SimpleBeanPropertyFilter.filterOutAllExcept(nomes));
+    }
+}
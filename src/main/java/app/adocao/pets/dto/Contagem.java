@@ -0,0 +1,19 @@
+package app.adocao.pets.dto;
+
+/**
+ * Quantidade de pets agrupada por um valor (espécie, raça ou idade), obtida por uma
+ * consulta de agregação.
+ *
+ * @param id ID do valor agrupado (espécie ou raça) ou a idade
+ * @param nome Nome do valor agrupado, quando houver
+ * @param quantidade Quantidade de pets
+ */
+public record Contagem(Long id, String nome, long quantidade) {
+
+    /**
+     * Contagem por idade, usada na consulta agrupada por {@code idade}.
+     */
+    public Contagem(Integer idade, Long quantidade) {
+        this(idade != null ? idade.longValue() : null, null, quantidade);
+    }
+}
@@ -0,0 +1,33 @@
+package app.adocao.pets.dto;
+
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Totais de adoções por espécie, raça e mês, lidos da tabela de agregação.
+ *
+ * @param total Total de adoções
+ * @param porEspecie Adoções por espécie
+ * @param porRaca Adoções por raça
+ * @param porMes Adoções por mês, em ordem cronológica
+ */
+public record EstatisticasAdocao(
+    long total,
+    List<Contagem> porEspecie,
+    List<Contagem> porRaca,
+    List<Mensal> porMes
+) {
+
+    /**
+     * Quantidade de adoções em um mês.
+     */
+    public record Mensal(YearMonth mes, long quantidade) {
+
+        /**
+         * Construtor usado pela consulta agrupada por {@code ano} e {@code mes}.
+         */
+        public Mensal(Integer ano, Integer mes, Long quantidade) {
+            this(YearMonth.of(ano, mes), quantidade);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package app.adocao.pets.dto;
+
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.Pet;
+import com.fasterxml.jackson.annotation.JsonValue;
+
+/**
+ * Alteração de um pet ou de uma adoção, enviada aos clientes de {@code /api/eventos}.
+ *
+ * Os eventos são publicados como eventos de aplicação dentro da transação que fez a
+ * alteração e só são entregues depois do commit. O campo {@code pet} traz o estado do
+ * pet após a alteração (nulo quando ele foi removido), para que o cliente atualize a
+ * sua cópia local sem consultar a API.
+ */
+public record EventoPet(
+    Tipo tipo,
+    Long petId,
+    Long adocaoId,
+    PetResumo pet
+) {
+
+    public enum Tipo {
+        PET_CRIADO("pet-criado"),
+        PET_ATUALIZADO("pet-atualizado"),
+        PET_REMOVIDO("pet-removido"),
+        ADOCAO_REGISTRADA("adocao-registrada"),
+        ADOCAO_REMOVIDA("adocao-removida");
+
+        private final String nome;
+
+        Tipo(String nome) {
+            this.nome = nome;
+        }
+
+        /**
+         * Nome do evento SSE ({@code event:}) e do campo {@code tipo} no JSON.
+         */
+        @JsonValue
+        public String getNome() {
+            return nome;
+        }
+    }
+
+    public static EventoPet petCriado(Pet pet) {
+        return new EventoPet(Tipo.PET_CRIADO, pet.getId(), null, resumo(pet));
+    }
+
+    public static EventoPet petAtualizado(Pet pet) {
+        return new EventoPet(Tipo.PET_ATUALIZADO, pet.getId(), null, resumo(pet));
+    }
+
+    public static EventoPet petRemovido(Long petId) {
+        return new EventoPet(Tipo.PET_REMOVIDO, petId, null, null);
+    }
+
+    public static EventoPet adocaoRegistrada(Adocao adocao) {
+        return new EventoPet(Tipo.ADOCAO_REGISTRADA, adocao.getPet().getId(), adocao.getId(), resumo(adocao.getPet()));
+    }
+
+    public static EventoPet adocaoRemovida(Adocao adocao, Pet pet) {
+        return new EventoPet(Tipo.ADOCAO_REMOVIDA, pet.getId(), adocao.getId(), resumo(pet));
+    }
+
+    private static PetResumo resumo(Pet pet) {
+        return new PetResumo(
+            pet.getId(),
+            pet.getNome(),
+            pet.getRaca() != null ? pet.getRaca().getNome() : null,
+            pet.getRaca() != null && pet.getRaca().getEspecie() != null ? pet.getRaca().getEspecie().getNome() : null,
+            pet.getIdade(),
+            pet.getDescricao(),
+            pet.isAdotado(),
+            pet.getFotoHash()
+        );
+    }
+}
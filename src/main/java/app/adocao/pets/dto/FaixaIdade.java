@@ -0,0 +1,69 @@
+package app.adocao.pets.dto;
+
+import java.util.Locale;
+
+/**
+ * Faixas de idade usadas na navegação por facetas dos pets disponíveis.
+ */
+public enum FaixaIdade {
+    FILHOTE("Filhote (até 1 ano)", 0, 1),
+    JOVEM("Jovem (2 a 3 anos)", 2, 3),
+    ADULTO("Adulto (4 a 7 anos)", 4, 7),
+    IDOSO("Idoso (8 anos ou mais)", 8, null);
+
+    private final String rotulo;
+    private final int idadeMinima;
+    private final Integer idadeMaxima;
+
+    FaixaIdade(String rotulo, int idadeMinima, Integer idadeMaxima) {
+        this.rotulo = rotulo;
+        this.idadeMinima = idadeMinima;
+        this.idadeMaxima = idadeMaxima;
+    }
+
+    public String getRotulo() {
+        return rotulo;
+    }
+
+    public int getIdadeMinima() {
+        return idadeMinima;
+    }
+
+    /**
+     * Idade máxima da faixa, ou nulo se a faixa não tiver limite superior.
+     */
+    public Integer getIdadeMaxima() {
+        return idadeMaxima;
+    }
+
+    /**
+     * Nome usado no parâmetro {@code ?idade=}.
+     */
+    public String getNome() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Faixa que contém a idade informada.
+     */
+    public static FaixaIdade daIdade(int idade) {
+        for (FaixaIdade faixa : values()) {
+            if (faixa.idadeMaxima == null || idade <= faixa.idadeMaxima) {
+                return faixa;
+            }
+        }
+        return IDOSO;
+    }
+
+    /**
+     * Converte o valor do parâmetro {@code ?idade=}; nulo ou vazio corresponde a nenhuma faixa.
+     *
+     * @throws IllegalArgumentException se a faixa não existir
+     */
+    public static FaixaIdade de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            return null;
+        }
+        return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,40 @@
+package app.adocao.pets.dto;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Envelope de uma página obtida por paginação via cursor (keyset).
+ *
+ * O cliente solicita a próxima página enviando {@code proximoCursor} no parâmetro
+ * {@code after}. Quando {@code proximoCursor} é nulo, não há mais registros.
+ *
+ * @param itens Registros da página, ordenados pelo ID
+ * @param proximoCursor ID a ser usado como {@code after} na próxima requisição, ou nulo
+ * @param limite Quantidade máxima de registros solicitada por página
+ */
+public record Pagina<T>(List<T> itens, Long proximoCursor, int limite) {
+
+    /**
+     * Monta uma página a partir de uma consulta que buscou {@code limite + 1} registros.
+     * O registro excedente indica apenas que existe uma próxima página e é descartado.
+     *
+     * @param registros Registros retornados pela consulta (até {@code limite + 1})
+     * @param limite Tamanho da página
+     * @param id Função que extrai o ID (cursor) de um registro
+     */
+    public static <T> Pagina<T> de(List<T> registros, int limite, Function<T, Long> id) {
+        if (registros.size() <= limite) {
+            return new Pagina<>(registros, null, limite);
+        }
+        List<T> itens = registros.subList(0, limite);
+        return new Pagina<>(List.copyOf(itens), id.apply(itens.get(limite - 1)), limite);
+    }
+
+    /**
+     * Converte os registros da página, mantendo o cursor e o limite.
+     */
+    public <R> Pagina<R> map(Function<T, R> conversao) {
+        return new Pagina<>(itens.stream().map(conversao).toList(), proximoCursor, limite);
+    }
+}
@@ -0,0 +1,57 @@
+package app.adocao.pets.dto;
+
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import com.fasterxml.jackson.annotation.JsonFilter;
+
+/**
+ * Representação de um pet nas respostas da API.
+ *
+ * Raça, espécie e adotante aparecem como {@link Referencia} e a foto como a URL de
+ * {@code /pets/foto/{id}}, versionada pelo hash: o cliente baixa a imagem só quando
+ * precisa e pode mantê-la em cache enquanto a URL não mudar.
+ *
+ * @param fotoUrl URL da foto original (aceita {@code &size=thumb|card|full}), ou nulo
+ * @param versao Versão do pet, para controle de concorrência
+ */
+@JsonFilter(CamposResposta.FILTRO)
+public record PetResposta(
+    Long id,
+    String nome,
+    int idade,
+    String descricao,
+    boolean adotado,
+    Referencia raca,
+    Referencia especie,
+    Referencia adotante,
+    String fotoUrl,
+    Long versao
+) {
+
+    public static PetResposta de(Pet pet) {
+        Raca raca = pet.getRaca();
+        Especie especie = pet.getEspecie();
+        Adotante adotante = pet.getAdotante();
+        return new PetResposta(
+            pet.getId(),
+            pet.getNome(),
+            pet.getIdade(),
+            pet.getDescricao(),
+            pet.isAdotado(),
+            raca == null ? null : new Referencia(raca.getId(), raca.getNome()),
+            especie == null ? null : new Referencia(especie.getId(), especie.getNome()),
+            adotante == null ? null : new Referencia(adotante.getId(), adotante.getNome()),
+            fotoUrl(pet.getId(), pet.getFotoHash()),
+            pet.getVersao()
+        );
+    }
+
+    /**
+     * URL da foto de um pet, com o hash como versão, ou nulo se o pet não tiver foto.
+     */
+    public static String fotoUrl(Long id, String fotoHash) {
+        return fotoHash == null ? null : "/pets/foto/" + id + "?v=" + fotoHash;
+    }
+}
@@ -0,0 +1,33 @@
+package app.adocao.pets.dto;
+
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Modelo de leitura de um pet para listagens.
+ *
+ * Contém apenas os campos exibidos nas listas, incluindo os nomes da raça e da
+ * espécie, e é carregado com uma única consulta, sem instanciar as entidades
+ * {@link app.adocao.pets.model.Pet}, {@link app.adocao.pets.model.Raca} e
+ * {@link app.adocao.pets.model.Especie}.
+ *
+ * Na API, a foto aparece como URL ({@link #fotoUrl()}) em vez do hash.
+ */
+@JsonFilter(CamposResposta.FILTRO)
+public record PetResumo(
+    Long id,
+    String nome,
+    String racaNome,
+    String especieNome,
+    int idade,
+    String descricao,
+    boolean adotado,
+    @JsonIgnore String fotoHash
+) {
+
+    @JsonProperty
+    public String fotoUrl() {
+        return PetResposta.fotoUrl(id, fotoHash);
+    }
+}
@@ -0,0 +1,8 @@
+package app.adocao.pets.dto;
+
+/**
+ * Referência a outro recurso nas respostas da API: apenas o ID e o nome, em vez do
+ * objeto completo.
+ */
+public record Referencia(Long id, String nome) {
+}
@@ -0,0 +1,43 @@
+package app.adocao.pets.dto;
+
+import java.util.List;
+
+/**
+ * Página de pets disponíveis com as contagens por faceta.
+ *
+ * As contagens de cada faceta consideram todos os filtros aplicados, exceto o da
+ * própria faceta: com uma espécie selecionada, a faceta de espécies continua mostrando
+ * quantos pets existem em cada uma das outras.
+ *
+ * @param itens Pets da página, ordenados pelo ID
+ * @param proximoCursor ID a ser usado como {@code after} na próxima requisição, ou nulo
+ * @param limite Quantidade máxima de pets por página
+ * @param total Quantidade de pets que atendem a todos os filtros
+ * @param limiteAtingido Se o filtro de texto encontrou mais pets que o máximo considerado
+ *        ({@code pets.busca.maximo-navegacao}); a página e as contagens cobrem só os mais relevantes
+ * @param especies Contagem por espécie
+ * @param racas Contagem por raça
+ * @param idades Contagem por faixa de idade
+ */
+public record ResultadoFacetado(
+    List<PetResumo> itens,
+    Long proximoCursor,
+    int limite,
+    long total,
+    boolean limiteAtingido,
+    List<ValorFaceta> especies,
+    List<ValorFaceta> racas,
+    List<ValorFaceta> idades
+) {
+
+    /**
+     * Valor de uma faceta.
+     *
+     * @param valor Valor do filtro correspondente (ID da espécie ou raça, ou nome da faixa de idade)
+     * @param rotulo Texto exibido
+     * @param quantidade Quantidade de pets com esse valor
+     * @param selecionado Se o filtro está aplicado
+     */
+    public record ValorFaceta(String valor, String rotulo, long quantidade, boolean selecionado) {
+    }
+}
@@ -0,0 +1,23 @@
+package app.adocao.pets.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de uma importação de pets em lote.
+ *
+ * @param total Quantidade de registros lidos do arquivo
+ * @param importados Quantidade de pets gravados
+ * @param falhas Quantidade de registros rejeitados
+ * @param erros Detalhes dos registros rejeitados (limitado aos primeiros erros)
+ */
+public record ResultadoImportacao(int total, int importados, int falhas, List<Erro> erros) {
+
+    /**
+     * Registro rejeitado na importação.
+     *
+     * @param linha Número da linha no arquivo (a partir de 1)
+     * @param mensagem Motivo da rejeição
+     */
+    public record Erro(long linha, String mensagem) {
+    }
+}
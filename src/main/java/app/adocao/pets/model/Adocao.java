@@ -1,13 +1,15 @@
 package app.adocao.pets.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 
 @Entity
 public class Adocao {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "adocao_seq")
+    @SequenceGenerator(name = "adocao_seq", sequenceName = "adocao_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional = false)
@@ -20,6 +22,22 @@ public class Adocao {
 
     private LocalDate dataAdocao;
 
+    /**
+     * Raça do pet no momento da adoção. As estatísticas contam a adoção nesta raça, que
+     * não acompanha alterações posteriores na raça do pet.
+     */
+    @ManyToOne
+    @JoinColumn(name = "raca_id")
+    private Raca raca;
+
+    /**
+     * Versão para controle de concorrência otimista; compõe o ETag das respostas da API.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     // Getters e Setters
 
     public Long getId() {
@@ -53,4 +71,20 @@ public class Adocao {
     public void setDataAdocao(LocalDate dataAdocao) {
         this.dataAdocao = dataAdocao;
     }
+
+    public Raca getRaca() {
+        return raca;
+    }
+
+    public void setRaca(Raca raca) {
+        this.raca = raca;
+    }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
@@ -1,13 +1,18 @@
 package app.adocao.pets.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "adotante")
 public class Adotante {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "adotante_seq")
+    @SequenceGenerator(name = "adotante_seq", sequenceName = "adotante_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -19,6 +24,14 @@ public class Adotante {
     @NotBlank
     private String email;
 
+    /**
+     * Versão para controle de concorrência otimista; compõe o ETag das respostas da API.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     // Getters e Setters
 
     public Long getId() {
@@ -52,4 +65,12 @@ public class Adotante {
     public void setCpf(String cpf) {
         this.cpf = cpf;
     }
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
 }
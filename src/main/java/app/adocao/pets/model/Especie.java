@@ -2,20 +2,33 @@ package app.adocao.pets.model;
 
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.ArrayList;
 import java.util.List;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "especie")
 public class Especie {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "especie_seq")
+    @SequenceGenerator(name = "especie_seq", sequenceName = "especie_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
     private String nome;
 
+    /**
+     * Versão para controle de concorrência otimista; compõe o ETag das respostas da API.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     // getters e setters
 
     public Long getId() {
@@ -34,4 +47,11 @@ public class Especie {
         this.nome = nome;
     }
 
-}
\ No newline at end of file
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+}
@@ -0,0 +1,65 @@
+package app.adocao.pets.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Quantidade de adoções de uma raça em um mês.
+ *
+ * Tabela de agregação mantida pelo {@link app.adocao.pets.service.EstatisticaAdocaoService}
+ * na mesma transação que registra ou remove a adoção. Os totais por espécie, raça e mês
+ * são somas sobre estas linhas, sem percorrer a tabela {@code adocao}.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_estatistica_adocao_raca_mes", columnNames = {"raca_id", "ano", "mes"}))
+public class EstatisticaAdocao {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "estatistica_adocao_seq")
+    @SequenceGenerator(name = "estatistica_adocao_seq", sequenceName = "estatistica_adocao_seq", allocationSize = 50)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "raca_id")
+    private Raca raca;
+
+    @Column(nullable = false)
+    private int ano;
+
+    @Column(nullable = false)
+    private int mes;
+
+    @Column(nullable = false)
+    private long quantidade;
+
+    protected EstatisticaAdocao() {
+    }
+
+    public EstatisticaAdocao(Raca raca, int ano, int mes, long quantidade) {
+        this.raca = raca;
+        this.ano = ano;
+        this.mes = mes;
+        this.quantidade = quantidade;
+    }
+
+    // getters
+
+    public Long getId() {
+        return id;
+    }
+
+    public Raca getRaca() {
+        return raca;
+    }
+
+    public int getAno() {
+        return ano;
+    }
+
+    public int getMes() {
+        return mes;
+    }
+
+    public long getQuantidade() {
+        return quantidade;
+    }
+}
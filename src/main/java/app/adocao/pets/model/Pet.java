@@ -2,11 +2,13 @@ package app.adocao.pets.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
 public class Pet {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pet_seq")
+    @SequenceGenerator(name = "pet_seq", sequenceName = "pet_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -18,18 +20,35 @@ public class Pet {
 
     private int idade;
 
-    @Lob
-    private byte[] foto;
+    /**
+     * Hash SHA-256 da foto no {@link app.adocao.pets.storage.PhotoStore}.
+     * Os bytes da imagem não ficam na tabela pet.
+     */
+    @Column(length = 64)
+    private String fotoHash;
 
     private String descricao;
 
     private boolean adotado;
 
+    /**
+     * Versão para controle de concorrência otimista: duas transações que alterem o mesmo
+     * pet (por exemplo, duas adoções simultâneas) não podem ambas confirmar.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     @ManyToOne
     @JoinColumn(name = "adotante_id")
     private Adotante adotante;
 
-    @OneToOne(mappedBy = "pet", cascade = CascadeType.ALL, orphanRemoval = true)
+    /**
+     * Lado inverso da adoção. Com o enhancement do Hibernate (ver pom.xml), só é
+     * consultado quando acessado; sem ele, cada pet carregado gera uma consulta a adocao.
+     */
+    @OneToOne(mappedBy = "pet", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     private Adocao adocao;
 
     // getters e setters
@@ -64,11 +83,11 @@ public class Pet {
     public void setIdade(int idade) {
         this.idade = idade;
     }
-    public byte[] getFoto() {
-        return foto;
+    public String getFotoHash() {
+        return fotoHash;
     }
-    public void setFoto(byte[] foto) {
-        this.foto = foto;
+    public void setFotoHash(String fotoHash) {
+        this.fotoHash = fotoHash;
     }
     public String getDescricao() {
         return descricao;
@@ -76,6 +95,12 @@ public class Pet {
     public void setDescricao(String descricao) {
         this.descricao = descricao;
     }
+    public Long getVersao() {
+        return versao;
+    }
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
     public boolean isAdotado() {
         return adotado;
     }
@@ -1,12 +1,17 @@
 package app.adocao.pets.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.ColumnDefault;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "raca")
 public class Raca {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "raca_seq")
+    @SequenceGenerator(name = "raca_seq", sequenceName = "raca_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank
@@ -16,6 +21,14 @@ public class Raca {
     @JoinColumn(name = "especie_id")
     private Especie especie;
 
+    /**
+     * Versão para controle de concorrência otimista; compõe o ETag das respostas da API.
+     */
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     // getters e setters
     public Long getId() {
         return id;
@@ -40,4 +53,12 @@ public class Raca {
     public void setEspecie(Especie especie) {
         this.especie = especie;
     }
-}
\ No newline at end of file
+
+    public Long getVersao() {
+        return versao;
+    }
+
+    public void setVersao(Long versao) {
+        this.versao = versao;
+    }
+}
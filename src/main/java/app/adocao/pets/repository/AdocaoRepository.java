@@ -1,10 +1,60 @@
 package app.adocao.pets.repository;
 
+import app.adocao.pets.dto.AdocaoResposta;
 import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.EstatisticaAdocao;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
 import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Raca;
 import java.util.List;
+import java.util.Optional;
 
 public interface AdocaoRepository extends JpaRepository<Adocao, Long> {
     List<Adocao> findByAdotante(Adotante adotante);
+
+    boolean existsByRaca(Raca raca);
+
+    Optional<Adocao> findByPetId(Long petId);
+
+    /**
+     * Lista as adoções já no formato da API, com uma única consulta e sem carregar
+     * as entidades Pet e Adotante.
+     */
+    @Query("""
+        select new app.adocao.pets.dto.AdocaoResposta(a.id, a.dataAdocao, p.id, p.nome, ad.id, ad.nome)
+        from Adocao a
+        join a.pet p
+        join a.adotante ad
+        order by a.id
+        """)
+    List<AdocaoResposta> listarRespostas();
+
+    /**
+     * Conta as adoções por raça (a do momento da adoção) e mês, para reconstruir a tabela
+     * de estatísticas. As instâncias retornadas não são gerenciadas e ainda não têm ID.
+     */
+    @Query("""
+        select new app.adocao.pets.model.EstatisticaAdocao(
+            r, year(a.dataAdocao), month(a.dataAdocao), count(a))
+        from Adocao a
+        join a.raca r
+        where a.dataAdocao is not null
+        group by r, year(a.dataAdocao), month(a.dataAdocao)
+        """)
+    List<EstatisticaAdocao> contarPorRacaEMes();
+
+    /**
+     * Versões da adoção, do pet e do adotante, no formato do ETag da API
+     * ({@code app.adocao.pets.controller.Etags}), sem carregar as entidades.
+     */
+    @Query("""
+        select concat(str(a.versao), '-', str(p.versao), '-', str(ad.versao))
+        from Adocao a
+        join a.pet p
+        join a.adotante ad
+        where a.id = :id
+        """)
+    Optional<String> buscarVersoes(@Param("id") Long id);
 }
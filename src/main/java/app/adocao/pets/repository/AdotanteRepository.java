@@ -1,9 +1,19 @@
 package app.adocao.pets.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import app.adocao.pets.model.Adotante;
+import java.util.Optional;
 
 @Repository
 public interface AdotanteRepository extends JpaRepository<Adotante, Long> {
+
+    /**
+     * Versão do adotante, no formato do ETag da API
+     * ({@code app.adocao.pets.controller.Etags}), sem carregar a entidade.
+     */
+    @Query("select str(a.versao) from Adotante a where a.id = :id")
+    Optional<String> buscarVersao(@Param("id") Long id);
 }
@@ -0,0 +1,69 @@
+package app.adocao.pets.repository;
+
+import app.adocao.pets.dto.Contagem;
+import app.adocao.pets.dto.EstatisticasAdocao;
+import app.adocao.pets.model.EstatisticaAdocao;
+import app.adocao.pets.model.Raca;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface EstatisticaAdocaoRepository extends JpaRepository<EstatisticaAdocao, Long> {
+
+    /**
+     * Soma {@code delta} à quantidade da raça no mês, com um único UPDATE.
+     *
+     * @return Quantidade de linhas alteradas (0 se ainda não houver linha para a raça no mês)
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        update EstatisticaAdocao e set e.quantidade = e.quantidade + :delta
+        where e.raca = :raca and e.ano = :ano and e.mes = :mes
+        """)
+    int somar(@Param("raca") Raca raca, @Param("ano") int ano, @Param("mes") int mes, @Param("delta") long delta);
+
+    /**
+     * Trava a linha da raça até o fim da transação ({@code select ... for update}).
+     * Serializa a criação da linha de estatísticas da raça: quem esperar pela trava
+     * encontra a linha já criada e só a incrementa.
+     */
+    @Query(value = "select id from raca where id = :racaId for update", nativeQuery = true)
+    Long travarRaca(@Param("racaId") Long racaId);
+
+    /**
+     * Remove a linha da raça no mês se ela não tiver mais adoções.
+     */
+    @Modifying
+    @Query("""
+        delete from EstatisticaAdocao e
+        where e.raca = :raca and e.ano = :ano and e.mes = :mes and e.quantidade <= 0
+        """)
+    int removerSeVazia(@Param("raca") Raca raca, @Param("ano") int ano, @Param("mes") int mes);
+
+    @Query("""
+        select new app.adocao.pets.dto.Contagem(s.id, s.nome, sum(e.quantidade))
+        from EstatisticaAdocao e join e.raca r join r.especie s
+        group by s.id, s.nome
+        order by s.nome
+        """)
+    List<Contagem> contarPorEspecie();
+
+    @Query("""
+        select new app.adocao.pets.dto.Contagem(r.id, r.nome, sum(e.quantidade))
+        from EstatisticaAdocao e join e.raca r
+        group by r.id, r.nome
+        order by r.nome
+        """)
+    List<Contagem> contarPorRaca();
+
+    @Query("""
+        select new app.adocao.pets.dto.EstatisticasAdocao$Mensal(e.ano, e.mes, sum(e.quantidade))
+        from EstatisticaAdocao e
+        group by e.ano, e.mes
+        order by e.ano, e.mes
+        """)
+    List<EstatisticasAdocao.Mensal> contarPorMes();
+}
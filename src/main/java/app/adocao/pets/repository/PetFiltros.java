@@ -0,0 +1,81 @@
+package app.adocao.pets.repository;
+
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+
+/**
+ * Filtros das consultas de pets, montados só com os valores informados.
+ *
+ * Cada método retorna {@code null} quando o filtro não é informado, e
+ * {@link Specification#and} ignora o {@code null}: a consulta não recebe condições
+ * {@code (:x is null or ...)}, que impedem o banco de usar os índices. A espécie é
+ * filtrada pelas raças dela ({@code raca_id in (select ...)}), sem juntar as tabelas
+ * raca e especie.
+ */
+public final class PetFiltros {
+
+    private PetFiltros() {
+    }
+
+    /**
+     * Pets com ID maior que o cursor.
+     */
+    public static Specification<Pet> depoisDe(long after) {
+        return (pet, consulta, cb) -> cb.greaterThan(pet.get("id"), after);
+    }
+
+    public static Specification<Pet> adotado(Boolean adotado) {
+        if (adotado == null) {
+            return null;
+        }
+        return (pet, consulta, cb) -> cb.equal(pet.get("adotado"), adotado);
+    }
+
+    public static Specification<Pet> daEspecie(Long especieId) {
+        if (especieId == null) {
+            return null;
+        }
+        return (pet, consulta, cb) -> {
+            Subquery<Long> racasDaEspecie = consulta.subquery(Long.class);
+            Root<Raca> raca = racasDaEspecie.from(Raca.class);
+            racasDaEspecie.select(raca.get("id")).where(cb.equal(raca.get("especie").get("id"), especieId));
+            return pet.get("raca").get("id").in(racasDaEspecie);
+        };
+    }
+
+    public static Specification<Pet> daRaca(Long racaId) {
+        if (racaId == null) {
+            return null;
+        }
+        return (pet, consulta, cb) -> cb.equal(pet.get("raca").get("id"), racaId);
+    }
+
+    public static Specification<Pet> idadeMinima(Integer idadeMin) {
+        if (idadeMin == null) {
+            return null;
+        }
+        return (pet, consulta, cb) -> cb.greaterThanOrEqualTo(pet.get("idade"), idadeMin);
+    }
+
+    public static Specification<Pet> idadeMaxima(Integer idadeMax) {
+        if (idadeMax == null) {
+            return null;
+        }
+        return (pet, consulta, cb) -> cb.lessThanOrEqualTo(pet.get("idade"), idadeMax);
+    }
+
+    /**
+     * Pets entre os IDs informados (resultado da busca textual).
+     */
+    public static Specification<Pet> comIds(Collection<Long> ids) {
+        if (ids == null) {
+            return null;
+        }
+        return (pet, consulta, cb) -> pet.get("id").in(ids);
+    }
+}
@@ -0,0 +1,40 @@
+package app.adocao.pets.repository;
+
+import app.adocao.pets.dto.Contagem;
+import app.adocao.pets.dto.PetResumo;
+import org.springframework.data.domain.Limit;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Consultas da navegação por facetas dos pets disponíveis, montadas só com os filtros
+ * informados ({@link PetFiltros}). Filtros nulos são ignorados; {@code ids} é a lista de
+ * IDs encontrada pela busca textual, ou {@code null} quando não há texto.
+ */
+public interface PetNavegacaoRepository {
+
+    /**
+     * Página de pets disponíveis como {@link PetResumo}, por cursor, com todos os filtros.
+     */
+    List<PetResumo> buscarResumosDisponiveis(long after, Long especieId, Long racaId, Integer idadeMin,
+                                             Integer idadeMax, Collection<Long> ids, Limit limite);
+
+    /**
+     * Quantidade de pets disponíveis por espécie, sem o filtro de espécie.
+     */
+    List<Contagem> contarDisponiveisPorEspecie(Long racaId, Integer idadeMin, Integer idadeMax,
+                                               Collection<Long> ids);
+
+    /**
+     * Quantidade de pets disponíveis por raça, sem o filtro de raça.
+     */
+    List<Contagem> contarDisponiveisPorRaca(Long especieId, Integer idadeMin, Integer idadeMax,
+                                            Collection<Long> ids);
+
+    /**
+     * Quantidade de pets disponíveis por idade, sem o filtro de idade. As idades são
+     * agrupadas em faixas pelo serviço.
+     */
+    List<Contagem> contarDisponiveisPorIdade(Long especieId, Long racaId, Collection<Long> ids);
+}
@@ -0,0 +1,119 @@
+package app.adocao.pets.repository;
+
+import app.adocao.pets.dto.Contagem;
+import app.adocao.pets.dto.PetResumo;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Collection;
+import java.util.List;
+
+import static app.adocao.pets.repository.PetFiltros.adotado;
+import static app.adocao.pets.repository.PetFiltros.comIds;
+import static app.adocao.pets.repository.PetFiltros.daEspecie;
+import static app.adocao.pets.repository.PetFiltros.daRaca;
+import static app.adocao.pets.repository.PetFiltros.depoisDe;
+import static app.adocao.pets.repository.PetFiltros.idadeMaxima;
+import static app.adocao.pets.repository.PetFiltros.idadeMinima;
+
+/**
+ * Implementação de {@link PetNavegacaoRepository} com a Criteria API. Os nomes de raça e
+ * espécie vêm de junções externas, para que pets sem raça entrem nos totais.
+ */
+class PetNavegacaoRepositoryImpl implements PetNavegacaoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<PetResumo> buscarResumosDisponiveis(long after, Long especieId, Long racaId, Integer idadeMin,
+                                                    Integer idadeMax, Collection<Long> ids, Limit limite) {
+        Specification<Pet> filtros = disponiveis(ids)
+            .and(depoisDe(after))
+            .and(daEspecie(especieId))
+            .and(daRaca(racaId))
+            .and(idadeMinima(idadeMin))
+            .and(idadeMaxima(idadeMax));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<PetResumo> consulta = cb.createQuery(PetResumo.class);
+        Root<Pet> pet = consulta.from(Pet.class);
+        Join<Pet, Raca> raca = pet.join("raca", JoinType.LEFT);
+        Join<Raca, Especie> especie = raca.join("especie", JoinType.LEFT);
+        consulta.select(cb.construct(PetResumo.class, pet.get("id"), pet.get("nome"), raca.get("nome"),
+                especie.get("nome"), pet.get("idade"), pet.get("descricao"), pet.get("adotado"), pet.get("fotoHash")))
+            .where(filtros.toPredicate(pet, consulta, cb))
+            .orderBy(cb.asc(pet.get("id")));
+        return entityManager.createQuery(consulta).setMaxResults(limite.max()).getResultList();
+    }
+
+    @Override
+    public List<Contagem> contarDisponiveisPorEspecie(Long racaId, Integer idadeMin, Integer idadeMax,
+                                                      Collection<Long> ids) {
+        Specification<Pet> filtros = disponiveis(ids)
+            .and(daRaca(racaId))
+            .and(idadeMinima(idadeMin))
+            .and(idadeMaxima(idadeMax));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Contagem> consulta = cb.createQuery(Contagem.class);
+        Root<Pet> pet = consulta.from(Pet.class);
+        Join<Raca, Especie> especie = pet.<Pet, Raca>join("raca", JoinType.LEFT).join("especie", JoinType.LEFT);
+        consulta.select(cb.construct(Contagem.class, especie.get("id"), especie.get("nome"), cb.count(pet)))
+            .where(filtros.toPredicate(pet, consulta, cb))
+            .groupBy(especie.get("id"), especie.get("nome"))
+            .orderBy(cb.asc(especie.get("nome")));
+        return entityManager.createQuery(consulta).getResultList();
+    }
+
+    @Override
+    public List<Contagem> contarDisponiveisPorRaca(Long especieId, Integer idadeMin, Integer idadeMax,
+                                                   Collection<Long> ids) {
+        Specification<Pet> filtros = disponiveis(ids)
+            .and(daEspecie(especieId))
+            .and(idadeMinima(idadeMin))
+            .and(idadeMaxima(idadeMax));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Contagem> consulta = cb.createQuery(Contagem.class);
+        Root<Pet> pet = consulta.from(Pet.class);
+        Join<Pet, Raca> raca = pet.join("raca", JoinType.LEFT);
+        consulta.select(cb.construct(Contagem.class, raca.get("id"), raca.get("nome"), cb.count(pet)))
+            .where(filtros.toPredicate(pet, consulta, cb))
+            .groupBy(raca.get("id"), raca.get("nome"))
+            .orderBy(cb.asc(raca.get("nome")));
+        return entityManager.createQuery(consulta).getResultList();
+    }
+
+    @Override
+    public List<Contagem> contarDisponiveisPorIdade(Long especieId, Long racaId, Collection<Long> ids) {
+        Specification<Pet> filtros = disponiveis(ids)
+            .and(daEspecie(especieId))
+            .and(daRaca(racaId));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Contagem> consulta = cb.createQuery(Contagem.class);
+        Root<Pet> pet = consulta.from(Pet.class);
+        consulta.select(cb.construct(Contagem.class, pet.get("idade"), cb.count(pet)))
+            .where(filtros.toPredicate(pet, consulta, cb))
+            .groupBy(pet.get("idade"));
+        return entityManager.createQuery(consulta).getResultList();
+    }
+
+    /**
+     * Pets disponíveis, restritos aos IDs da busca textual quando há texto.
+     */
+    private static Specification<Pet> disponiveis(Collection<Long> ids) {
+        return Specification.where(adotado(false)).and(comIds(ids));
+    }
+}
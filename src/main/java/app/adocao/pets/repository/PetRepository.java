@@ -1,13 +1,90 @@
 package app.adocao.pets.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import app.adocao.pets.dto.PetResumo;
 import app.adocao.pets.model.Pet;
 import app.adocao.pets.model.Raca;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface PetRepository extends JpaRepository<Pet, Long> {
+public interface PetRepository extends JpaRepository<Pet, Long>, JpaSpecificationExecutor<Pet>, PetNavegacaoRepository {
     List<Pet> findByAdotadoFalse();
     List<Pet> findByRaca(Raca raca);
+
+    /**
+     * Lista todos os pets como {@link PetResumo}, com os nomes de raça e espécie
+     * obtidos na mesma consulta.
+     */
+    @Query("""
+        select new app.adocao.pets.dto.PetResumo(
+            p.id, p.nome, r.nome, e.nome, p.idade, p.descricao, p.adotado, p.fotoHash)
+        from Pet p
+        left join p.raca r
+        left join r.especie e
+        order by p.id
+        """)
+    List<PetResumo> listarResumos();
+
+    /**
+     * Lista os pets com os IDs informados como {@link PetResumo}, em uma única consulta.
+     * A ordem do resultado não segue a ordem de {@code ids}.
+     */
+    @Query("""
+        select new app.adocao.pets.dto.PetResumo(
+            p.id, p.nome, r.nome, e.nome, p.idade, p.descricao, p.adotado, p.fotoHash)
+        from Pet p
+        left join p.raca r
+        left join r.especie e
+        where p.id in :ids
+        """)
+    List<PetResumo> listarResumosPorIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Retorna apenas o hash da foto do pet, sem carregar a entidade.
+     */
+    @Query("select p.fotoHash from Pet p where p.id = :id")
+    Optional<String> findFotoHashById(@Param("id") Long id);
+
+    /**
+     * Busca uma página de pets por cursor (keyset): retorna os pets com ID maior que
+     * {@code after}, em ordem crescente de ID. Filtros nulos são ignorados.
+     *
+     * A consulta é montada só com os filtros informados ({@link PetFiltros}): com os
+     * filtros de situação ou de raça ela percorre {@code idx_pet_adotado_id} /
+     * {@code idx_pet_raca_id} a partir do cursor.
+     */
+    default List<Pet> buscarPagina(long after, Boolean adotado, Long especieId, Long racaId,
+                                   Integer idadeMin, Integer idadeMax, Limit limite) {
+        Specification<Pet> filtros = Specification.where(PetFiltros.depoisDe(after))
+            .and(PetFiltros.adotado(adotado))
+            .and(PetFiltros.daEspecie(especieId))
+            .and(PetFiltros.daRaca(racaId))
+            .and(PetFiltros.idadeMinima(idadeMin))
+            .and(PetFiltros.idadeMaxima(idadeMax));
+        return findBy(filtros, consulta -> consulta.sortBy(Sort.by("id")).limit(limite.max()).all());
+    }
+
+    /**
+     * Versões do pet e da raça, espécie e adotante exibidos com ele, no formato do ETag
+     * da API ({@code app.adocao.pets.controller.Etags}), sem carregar as entidades.
+     */
+    @Query("""
+        select concat(str(p.versao), '-', str(coalesce(r.versao, 0)), '-',
+            str(coalesce(e.versao, 0)), '-', str(coalesce(a.versao, 0)))
+        from Pet p
+        left join p.raca r
+        left join r.especie e
+        left join p.adotante a
+        where p.id = :id
+        """)
+    Optional<String> buscarVersoes(@Param("id") Long id);
 }
@@ -1,6 +1,9 @@
 package app.adocao.pets.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import app.adocao.pets.model.Raca;
 import app.adocao.pets.model.Especie;
@@ -8,6 +11,13 @@ import java.util.List;
 
 @Repository
 public interface RacaRepository extends JpaRepository<Raca, Long> {
+    /**
+     * Raças de uma espécie, guardadas no cache de consultas do Hibernate até a
+     * próxima alteração na tabela {@code raca}.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Raca> findByEspecieId(Long especieId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Raca> findByEspecie(Especie especie);
 }
@@ -0,0 +1,20 @@
+package app.adocao.pets.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que a adoção não pode ser registrada porque o pet já foi adotado,
+ * possivelmente por uma requisição concorrente. Respondida com 409 (Conflict).
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class AdocaoConflitoException extends RuntimeException {
+
+    public AdocaoConflitoException(String message) {
+        super(message);
+    }
+
+    public AdocaoConflitoException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,15 +1,28 @@
 package app.adocao.pets.service;
 
+import app.adocao.pets.dto.EventoPet;
 import app.adocao.pets.model.Adocao;
 import app.adocao.pets.model.Adotante;
 import app.adocao.pets.model.Pet;
 import app.adocao.pets.repository.AdocaoRepository;
 import app.adocao.pets.repository.AdotanteRepository;
 import app.adocao.pets.repository.PetRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Serviço responsável por encapsular a lógica de negócio relacionada às adoções de pets.
@@ -20,31 +33,134 @@ import java.time.LocalDate;
 @Service
 public class AdocaoService {
 
+    /** Restrição única de {@code adocao.pet_id}: violada por outra adoção do mesmo pet */
+    private static final String RESTRICAO_PET_UNICO = "uk_adocao_pet";
+
     private final AdocaoRepository adocaoRepository;
     private final PetRepository petRepository;
     private final AdotanteRepository adotanteRepository;
+    private final EstatisticaAdocaoService estatisticaAdocaoService;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventos;
+    private final int maxTentativas;
+    private final Counter adocoesRegistradas;
+    private final Counter adocoesEmConflito;
 
-    public AdocaoService(AdocaoRepository adocaoRepository, PetRepository petRepository, AdotanteRepository adotanteRepository) {
+    /**
+     * Construtor do serviço de adoção, com injeção de dependências dos repositórios envolvidos.
+     *
+     * @param adocaoRepository Repositório de adoções
+     * @param petRepository Repositório de pets
+     * @param adotanteRepository Repositório de adotantes
+     * @param estatisticaAdocaoService Serviço das estatísticas, atualizadas na transação de cada adoção
+     * @param transactionManager Gerenciador de transações, usado para repetir o registro em caso de conflito
+     * @param maxTentativas Número máximo de tentativas de registro de uma adoção
+     * @param meterRegistry Registro de métricas, onde são contadas as adoções ({@code pets.adocoes})
+     * @param eventos Publicador dos eventos de adoção ({@link EventoPet}), entregues após o commit
+     */
+    public AdocaoService(AdocaoRepository adocaoRepository, PetRepository petRepository, AdotanteRepository adotanteRepository,
+                         EstatisticaAdocaoService estatisticaAdocaoService,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${pets.adocao.tentativas:3}") int maxTentativas,
+                         MeterRegistry meterRegistry,
+                         ApplicationEventPublisher eventos) {
         this.adocaoRepository = adocaoRepository;
         this.petRepository = petRepository;
         this.adotanteRepository = adotanteRepository;
+        this.estatisticaAdocaoService = estatisticaAdocaoService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxTentativas = maxTentativas;
+        this.eventos = eventos;
+        this.adocoesRegistradas = Counter.builder("pets.adocoes")
+            .description("Adoções registradas ou recusadas por conflito")
+            .tag("resultado", "registrada")
+            .register(meterRegistry);
+        this.adocoesEmConflito = Counter.builder("pets.adocoes")
+            .description("Adoções registradas ou recusadas por conflito")
+            .tag("resultado", "conflito")
+            .register(meterRegistry);
     }
 
     /**
-     * Construtor do serviço de adoção, com injeção de dependências dos repositórios envolvidos.
+     * Registra uma nova adoção entre um pet e um adotante.
      *
-     * @param adocaoRepository Repositório de adoções
-     * @param petRepository Repositório de pets
-     * @param adotanteRepository Repositório de adotantes
+     * <p>Este método:</p>
+     * <ul>
+     *   <li>Verifica se o pet e o adotante existem</li>
+     *   <li>Garante que o pet ainda não tenha sido adotado</li>
+     *   <li>Marca o pet como adotado</li>
+     *   <li>Cria e persiste a instância de {@link Adocao}</li>
+     *   <li>Conta a adoção nas estatísticas por raça e mês</li>
+     * </ul>
+     *
+     * <p>Cada tentativa roda em sua própria transação. Se duas adoções do mesmo pet forem
+     * confirmadas ao mesmo tempo, o controle de versão de {@link Pet} (ou a restrição única
+     * em {@code adocao.pet_id}) faz uma delas falhar; ela é repetida, até {@code maxTentativas}
+     * vezes, e na nova tentativa encontra o pet já adotado. Outras violações de integridade
+     * não são repetidas.</p>
+     *
+     * @param petId ID do pet a ser adotado
+     * @param adotanteId ID do adotante
+     * @return Objeto {@link Adocao} registrado
+     * @throws IllegalArgumentException se o pet ou o adotante não existirem
+     * @throws AdocaoConflitoException se o pet já estiver adotado ou as tentativas se esgotarem
      */
-    @Transactional
     public Adocao registrarAdocao(Long petId, Long adotanteId) {
+        try {
+            Adocao adocao = registrarComTentativas(petId, adotanteId);
+            adocoesRegistradas.increment();
+            return adocao;
+        } catch (AdocaoConflitoException e) {
+            adocoesEmConflito.increment();
+            throw e;
+        }
+    }
+
+    private Adocao registrarComTentativas(Long petId, Long adotanteId) {
+        for (int tentativa = 1; ; tentativa++) {
+            try {
+                return transactionTemplate.execute(status -> registrar(petId, adotanteId));
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                repetirOuDesistir(petId, tentativa, e);
+            } catch (DataIntegrityViolationException e) {
+                // Outras violações (chaves estrangeiras, colunas obrigatórias) não são conflitos
+                if (!violaPetUnico(e)) {
+                    throw e;
+                }
+                repetirOuDesistir(petId, tentativa, e);
+            }
+        }
+    }
+
+    private void repetirOuDesistir(Long petId, int tentativa, RuntimeException e) {
+        if (tentativa >= maxTentativas) {
+            throw new AdocaoConflitoException("Não foi possível registrar a adoção do pet " + petId
+                + " devido a alterações concorrentes", e);
+        }
+        aguardar(tentativa);
+    }
+
+    /**
+     * Indica se a violação é da restrição {@code uk_adocao_pet}, ou seja, outra adoção do
+     * mesmo pet foi confirmada antes.
+     */
+    private static boolean violaPetUnico(DataIntegrityViolationException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof ConstraintViolationException violacao && violacao.getConstraintName() != null
+                    && violacao.getConstraintName().toLowerCase(Locale.ROOT).contains(RESTRICAO_PET_UNICO)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Adocao registrar(Long petId, Long adotanteId) {
         Pet pet = petRepository.findById(petId)
             .orElseThrow(() -> new IllegalArgumentException("Pet inválido: " + petId));
         Adotante adotante = adotanteRepository.findById(adotanteId)
             .orElseThrow(() -> new IllegalArgumentException("Adotante inválido: " + adotanteId));
         if (pet.isAdotado()) {
-            throw new IllegalArgumentException("Pet já adotado: " + petId);
+            throw new AdocaoConflitoException("Pet já adotado: " + petId);
         }
 
         pet.setAdotado(true);
@@ -52,34 +168,66 @@ public class AdocaoService {
         Adocao adocao = new Adocao();
         adocao.setPet(pet);
         adocao.setAdotante(adotante);
+        adocao.setRaca(pet.getRaca());
         adocao.setDataAdocao(LocalDate.now());
 
-        petRepository.save(pet);
-        adocaoRepository.save(adocao);
+        // Grava o pet primeiro: a verificação de versão detecta a adoção concorrente
+        // antes mesmo da inserção em adocao (que o Hibernate faria antes das atualizações)
+        petRepository.saveAndFlush(pet);
+        adocaoRepository.saveAndFlush(adocao);
+        estatisticaAdocaoService.adocaoRegistrada(adocao);
+        eventos.publishEvent(EventoPet.adocaoRegistrada(adocao));
 
         return adocao;
     }
 
     /**
-     * Registra uma nova adoção entre um pet e um adotante.
-     *
-     * <p>Este método:</p>
-     * <ul>
-     *   <li>Verifica se o pet e o adotante existem</li>
-     *   <li>Garante que o pet ainda não tenha sido adotado</li>
-     *   <li>Marca o pet como adotado</li>
-     *   <li>Cria e persiste a instância de {@link Adocao}</li>
-     * </ul>
+     * Espera um intervalo curto e aleatório antes de nova tentativa, crescente a cada
+     * tentativa, para que as transações em conflito não colidam de novo.
+     */
+    private static void aguardar(int tentativa) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(5, 20) * tentativa);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AdocaoConflitoException("Registro de adoção interrompido", e);
+        }
+    }
+
+    /**
+     * Remove uma adoção e devolve o pet à lista de disponíveis.
      *
-     * @param petId ID do pet a ser adotado
-     * @param adotanteId ID do adotante
-     * @return Objeto {@link Adocao} registrado
-     * @throws IllegalArgumentException se o pet ou o adotante não existirem, ou se o pet já estiver adotado
+     * @param id ID da adoção
+     * @throws IllegalArgumentException se a adoção não existir
      */
     @Transactional
     public void deletarAdocao(Long id) {
         Adocao adocao = adocaoRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Adoção inválida: " + id));
+        remover(adocao);
+    }
+
+    /**
+     * Exclui um pet, removendo antes a sua adoção, se houver, para que ela seja
+     * descontada das estatísticas em vez de apagada em cascata.
+     *
+     * <p>As duas remoções ficam na mesma transação. Se uma adoção do pet for registrada
+     * depois da consulta, a versão do pet muda e a exclusão falha com
+     * {@code OptimisticLockingFailureException}, sem apagar a adoção nova.</p>
+     *
+     * @param petId ID do pet
+     * @throws IllegalArgumentException se o pet não existir
+     */
+    @Transactional
+    public void deletarPet(Long petId) {
+        Pet pet = petRepository.findById(petId)
+            .orElseThrow(() -> new IllegalArgumentException("Pet inválido: " + petId));
+        adocaoRepository.findByPetId(petId).ifPresent(this::remover);
+        petRepository.delete(pet);
+    }
+
+    private void remover(Adocao adocao) {
+        estatisticaAdocaoService.adocaoRemovida(adocao);
 
         Pet pet = adocao.getPet();
         if (pet != null) {
@@ -87,6 +235,7 @@ public class AdocaoService {
             pet.setAdocao(null);
             pet.setAdotante(null);
             petRepository.save(pet);
+            eventos.publishEvent(EventoPet.adocaoRemovida(adocao, pet));
         }
 
         adocaoRepository.delete(adocao);
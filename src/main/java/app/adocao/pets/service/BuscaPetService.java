@@ -0,0 +1,323 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.EventoPet;
+import app.adocao.pets.dto.PetResumo;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.PetRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.CharArraySet;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.pt.PortugueseAnalyzer;
+import org.apache.lucene.analysis.pt.PortugueseLightStemFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Busca textual de pets, sobre um índice invertido do Lucene gravado em
+ * {@code pets.busca.diretorio}.
+ *
+ * São indexados o nome e a descrição do pet e os nomes da raça e da espécie. O texto é
+ * analisado para o português: minúsculas, remoção de acentos ("dócil" e "docil" são
+ * equivalentes), de palavras vazias e redução de plurais e flexões ("filhotes" encontra
+ * "filhote"). Os resultados são ordenados por relevância, com peso maior para o nome.
+ *
+ * O índice é atualizado a cada pet gravado ou removido e a cada adoção registrada ou
+ * removida (o campo {@code adotado} permite buscar só os disponíveis), e reconstruído na
+ * inicialização se não estiver sincronizado com a tabela pet ou tiver sido gravado com
+ * outro formato de documento. As alterações do índice são serializadas
+ * por uma trava: a reconstrução lê a tabela e regrava o índice sem que uma indexação
+ * concorrente seja aplicada no meio e depois apagada.
+ */
+@Service
+public class BuscaPetService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(BuscaPetService.class);
+
+    private static final String ID = "id";
+    private static final String NOME = "nome";
+    private static final String DESCRICAO = "descricao";
+    private static final String RACA = "raca";
+    private static final String ESPECIE = "especie";
+    private static final String ADOTADO = "adotado";
+
+    /** Formato dos documentos, gravado nos dados do commit; mudá-lo força a reconstrução. */
+    private static final String FORMATO = "formato";
+    private static final String VERSAO_FORMATO = "2";
+
+    /** Pesos de cada campo na pontuação: o nome pesa mais que a descrição. */
+    private static final Map<String, Float> PESOS = Map.of(NOME, 3f, RACA, 2f, ESPECIE, 2f, DESCRICAO, 1f);
+
+    private final PetRepository petRepository;
+    private final CatalogoCache catalogoCache;
+    private final Analyzer analyzer = new AnalisadorPortugues();
+    private final FSDirectory diretorio;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+    private final ReentrantLock trava = new ReentrantLock();
+    private final boolean formatoAtual;
+
+    public BuscaPetService(PetRepository petRepository, CatalogoCache catalogoCache,
+                           @Value("${pets.busca.diretorio}") Path diretorio) throws IOException {
+        this.petRepository = petRepository;
+        this.catalogoCache = catalogoCache;
+        this.diretorio = FSDirectory.open(diretorio);
+        this.writer = new IndexWriter(this.diretorio, new IndexWriterConfig(analyzer));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        String formato = null;
+        Iterable<Map.Entry<String, String>> dadosCommit = writer.getLiveCommitData();
+        if (dadosCommit != null) {
+            for (Map.Entry<String, String> dado : dadosCommit) {
+                if (FORMATO.equals(dado.getKey())) {
+                    formato = dado.getValue();
+                }
+            }
+        }
+        this.formatoAtual = VERSAO_FORMATO.equals(formato);
+        writer.setLiveCommitData(Map.of(FORMATO, VERSAO_FORMATO).entrySet());
+    }
+
+    /**
+     * Reconstrói o índice na inicialização se a quantidade de documentos for diferente
+     * da quantidade de pets (índice novo, apagado ou desatualizado) ou se ele tiver sido
+     * gravado com outro formato de documento.
+     */
+    @Override
+    public void run(ApplicationArguments args) {
+        long pets = petRepository.count();
+        if (!formatoAtual || writer.getDocStats().numDocs != pets) {
+            reindexar();
+        }
+    }
+
+    /**
+     * Busca pets pelo texto informado.
+     *
+     * Aceita a sintaxe simples do Lucene: termos separados por espaço (todos obrigatórios),
+     * {@code "frase exata"}, {@code termo | outro} para alternativas e {@code -termo} excluído.
+     *
+     * @param texto Texto da busca
+     * @param limite Quantidade máxima de resultados
+     * @return IDs dos pets encontrados, do mais para o menos relevante
+     */
+    public List<Long> buscar(String texto, int limite) {
+        Query consulta = consulta(texto);
+        return consulta != null ? buscar(consulta, limite) : List.of();
+    }
+
+    /**
+     * Busca, entre os pets não adotados, pelo texto informado. O filtro é aplicado no
+     * índice: os pets adotados não ocupam o limite de resultados.
+     *
+     * @param texto Texto da busca, com a mesma sintaxe de {@link #buscar(String, int)}
+     * @param limite Quantidade máxima de resultados
+     * @return IDs dos pets disponíveis encontrados, do mais para o menos relevante
+     */
+    public List<Long> buscarDisponiveis(String texto, int limite) {
+        Query consulta = consulta(texto);
+        if (consulta == null) {
+            return List.of();
+        }
+        return buscar(new BooleanQuery.Builder()
+            .add(consulta, BooleanClause.Occur.MUST)
+            .add(new TermQuery(new Term(ADOTADO, Boolean.FALSE.toString())), BooleanClause.Occur.FILTER)
+            .build(), limite);
+    }
+
+    private Query consulta(String texto) {
+        SimpleQueryParser parser = new SimpleQueryParser(analyzer, PESOS);
+        parser.setDefaultOperator(BooleanClause.Occur.MUST);
+        return parser.parse(texto);
+    }
+
+    private List<Long> buscar(Query consulta, int limite) {
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                List<Long> ids = new ArrayList<>();
+                for (ScoreDoc resultado : searcher.search(consulta, limite).scoreDocs) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(resultado.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha na busca de pets", e);
+        }
+    }
+
+    /**
+     * Indexa (ou reindexa) um pet gravado.
+     */
+    public void indexar(Pet pet) {
+        indexar(List.of(pet));
+    }
+
+    /**
+     * Indexa os pets informados, com uma única confirmação no índice.
+     */
+    public void indexar(Collection<Pet> pets) {
+        atualizar(() -> {
+            for (Pet pet : pets) {
+                // O pet vindo de um formulário pode trazer só o ID da raça
+                Raca raca = pet.getRaca() != null ? catalogoCache.buscarRaca(pet.getRaca().getId()).orElse(null) : null;
+                String especie = raca != null && raca.getEspecie() != null ? raca.getEspecie().getNome() : null;
+                writer.updateDocument(new Term(ID, pet.getId().toString()), documento(
+                    pet.getId(), pet.getNome(), pet.getDescricao(), raca != null ? raca.getNome() : null, especie,
+                    pet.isAdotado()));
+            }
+        });
+    }
+
+    /**
+     * Atualiza o campo {@code adotado} do pet quando uma adoção é registrada ou removida.
+     * Publicado dentro de uma transação, só é executado após o commit.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void adocaoAlterada(EventoPet evento) {
+        if (evento.tipo() != EventoPet.Tipo.ADOCAO_REGISTRADA && evento.tipo() != EventoPet.Tipo.ADOCAO_REMOVIDA) {
+            return;
+        }
+        PetResumo pet = evento.pet();
+        atualizar(() -> writer.updateDocument(new Term(ID, pet.id().toString()), documento(
+            pet.id(), pet.nome(), pet.descricao(), pet.racaNome(), pet.especieNome(), pet.adotado())));
+    }
+
+    /**
+     * Remove um pet do índice.
+     */
+    public void remover(Long id) {
+        atualizar(() -> writer.deleteDocuments(new Term(ID, id.toString())));
+    }
+
+    /**
+     * Reconstrói o índice a partir da tabela pet. Usado na inicialização e quando nomes
+     * de raças ou espécies mudam, já que eles fazem parte dos documentos de todos os pets.
+     *
+     * A leitura da tabela fica sob a mesma trava da regravação: pets indexados durante a
+     * reconstrução aguardam e são aplicados sobre o índice novo.
+     */
+    public void reindexar() {
+        List<PetResumo> pets;
+        trava.lock();
+        try {
+            pets = petRepository.listarResumos();
+            atualizar(() -> {
+                writer.deleteAll();
+                for (PetResumo pet : pets) {
+                    writer.addDocument(documento(
+                        pet.id(), pet.nome(), pet.descricao(), pet.racaNome(), pet.especieNome(), pet.adotado()));
+                }
+            });
+        } finally {
+            trava.unlock();
+        }
+        log.info("Índice de busca reconstruído com {} pets", pets.size());
+    }
+
+    @PreDestroy
+    public void fechar() throws IOException {
+        searcherManager.close();
+        writer.close();
+        diretorio.close();
+    }
+
+    private void atualizar(AlteracaoIndice alteracao) {
+        trava.lock();
+        try {
+            alteracao.aplicar();
+            writer.commit();
+            // Torna a alteração visível para as buscas seguintes
+            searcherManager.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao atualizar o índice de busca", e);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    private static Document documento(Long id, String nome, String descricao, String raca, String especie,
+                                      boolean adotado) {
+        Document documento = new Document();
+        documento.add(new StringField(ID, id.toString(), Field.Store.YES));
+        documento.add(new StringField(ADOTADO, Boolean.toString(adotado), Field.Store.NO));
+        adicionarTexto(documento, NOME, nome);
+        adicionarTexto(documento, DESCRICAO, descricao);
+        adicionarTexto(documento, RACA, raca);
+        adicionarTexto(documento, ESPECIE, especie);
+        return documento;
+    }
+
+    private static void adicionarTexto(Document documento, String campo, String valor) {
+        if (valor != null) {
+            documento.add(new TextField(campo, valor, Field.Store.NO));
+        }
+    }
+
+    @FunctionalInterface
+    private interface AlteracaoIndice {
+        void aplicar() throws IOException;
+    }
+
+    /**
+     * Análise para o português: tokenização padrão, minúsculas, remoção de palavras
+     * vazias e de acentos, e redução das palavras ao radical (stemming leve).
+     */
+    static class AnalisadorPortugues extends Analyzer {
+
+        private static final CharArraySet PALAVRAS_VAZIAS = PortugueseAnalyzer.getDefaultStopSet();
+
+        @Override
+        protected TokenStreamComponents createComponents(String campo) {
+            StandardTokenizer tokenizer = new StandardTokenizer();
+            TokenStream tokens = new LowerCaseFilter(tokenizer);
+            tokens = new StopFilter(tokens, PALAVRAS_VAZIAS);
+            tokens = new ASCIIFoldingFilter(tokens);
+            tokens = new PortugueseLightStemFilter(tokens);
+            return new TokenStreamComponents(tokenizer, tokens);
+        }
+
+        @Override
+        protected TokenStream normalize(String campo, TokenStream entrada) {
+            return new ASCIIFoldingFilter(new LowerCaseFilter(entrada));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.RacaRepository;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Cache em memória do catálogo de espécies e raças.
+ *
+ * Espécies e raças são tabelas pequenas e raramente alteradas, mas consultadas em quase
+ * toda requisição. Este serviço mantém um snapshot imutável do catálogo, indexado por ID
+ * e por espécie, e o reconstrói por completo sempre que houver uma escrita
+ * ({@link #recarregar()}). As leituras apenas consultam o snapshot atual, sem acessar o banco.
+ *
+ * As entidades do snapshot são cópias desvinculadas do contexto de persistência: podem ser
+ * usadas como referência em associações (por exemplo, {@code pet.setRaca(raca)}), mas não
+ * devem ser alteradas.
+ */
+@Service
+public class CatalogoCache {
+
+    private final EspecieRepository especieRepository;
+    private final RacaRepository racaRepository;
+    private final VersaoDados versaoDados;
+
+    private volatile Snapshot snapshot;
+
+    public CatalogoCache(EspecieRepository especieRepository, RacaRepository racaRepository,
+                         VersaoDados versaoDados) {
+        this.especieRepository = especieRepository;
+        this.racaRepository = racaRepository;
+        this.versaoDados = versaoDados;
+    }
+
+    public List<Especie> listarEspecies() {
+        return snapshot().especies();
+    }
+
+    public Optional<Especie> buscarEspecie(Long id) {
+        return Optional.ofNullable(snapshot().especiesPorId().get(id));
+    }
+
+    public List<Raca> listarRacas() {
+        return snapshot().racas();
+    }
+
+    public Optional<Raca> buscarRaca(Long id) {
+        return Optional.ofNullable(snapshot().racasPorId().get(id));
+    }
+
+    public List<Raca> listarRacasPorEspecie(Long especieId) {
+        return snapshot().racasPorEspecie().getOrDefault(especieId, List.of());
+    }
+
+    /**
+     * Reconstrói o snapshot a partir do banco. Deve ser chamado depois de toda escrita
+     * em espécies ou raças já confirmada.
+     *
+     * As reconstruções são serializadas, de forma que a última a terminar sempre reflete
+     * todas as escritas confirmadas antes dela; as leituras continuam usando o snapshot
+     * anterior até a troca. Também invalida as páginas que exibem o catálogo.
+     */
+    public synchronized void recarregar() {
+        versaoDados.incrementar(VersaoDados.Conjunto.CATALOGO);
+        carregar();
+    }
+
+    private void carregar() {
+        Map<Long, Especie> especiesPorId = new LinkedHashMap<>();
+        for (Especie especie : especieRepository.findAll()) {
+            especiesPorId.put(especie.getId(), copiar(especie));
+        }
+
+        Map<Long, Raca> racasPorId = new LinkedHashMap<>();
+        Map<Long, List<Raca>> racasPorEspecie = new HashMap<>();
+        for (Raca raca : racaRepository.findAll()) {
+            Raca copia = new Raca();
+            copia.setId(raca.getId());
+            copia.setNome(raca.getNome());
+            copia.setVersao(raca.getVersao());
+            if (raca.getEspecie() != null) {
+                copia.setEspecie(especiesPorId.get(raca.getEspecie().getId()));
+                racasPorEspecie.computeIfAbsent(raca.getEspecie().getId(), id -> new ArrayList<>()).add(copia);
+            }
+            racasPorId.put(copia.getId(), copia);
+        }
+        racasPorEspecie.replaceAll((id, racas) -> List.copyOf(racas));
+
+        snapshot = new Snapshot(
+            List.copyOf(especiesPorId.values()),
+            Map.copyOf(especiesPorId),
+            List.copyOf(racasPorId.values()),
+            Map.copyOf(racasPorId),
+            Map.copyOf(racasPorEspecie)
+        );
+    }
+
+    private Snapshot snapshot() {
+        Snapshot atual = snapshot;
+        if (atual == null) {
+            synchronized (this) {
+                if (snapshot == null) {
+                    carregar();
+                }
+                atual = snapshot;
+            }
+        }
+        return atual;
+    }
+
+    private static Especie copiar(Especie especie) {
+        Especie copia = new Especie();
+        copia.setId(especie.getId());
+        copia.setNome(especie.getNome());
+        copia.setVersao(especie.getVersao());
+        return copia;
+    }
+
+    private record Snapshot(
+        List<Especie> especies,
+        Map<Long, Especie> especiesPorId,
+        List<Raca> racas,
+        Map<Long, Raca> racasPorId,
+        Map<Long, List<Raca>> racasPorEspecie
+    ) {
+    }
+}
@@ -18,10 +18,12 @@ import java.time.LocalDate;
 public class EspecieService {
     private final EspecieRepository especieRepository;
     private final RacaRepository racaRepository;
+    private final CatalogoCache catalogoCache;
 
-    EspecieService(EspecieRepository especieRepository, RacaRepository racaRepository) {
+    EspecieService(EspecieRepository especieRepository, RacaRepository racaRepository, CatalogoCache catalogoCache) {
         this.especieRepository = especieRepository;
         this.racaRepository = racaRepository;
+        this.catalogoCache = catalogoCache;
     }
 
     public void salvarEspecieCriarRacaSRD(Especie especie) {
@@ -30,5 +32,6 @@ public class EspecieService {
         raca.setNome("SRD");
         raca.setEspecie(especie);
         racaRepository.save(raca);
+        catalogoCache.recarregar();
     }
 }
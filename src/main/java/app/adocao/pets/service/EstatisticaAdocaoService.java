@@ -0,0 +1,131 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.Contagem;
+import app.adocao.pets.dto.EstatisticasAdocao;
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.EstatisticaAdocao;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.AdocaoRepository;
+import app.adocao.pets.repository.EstatisticaAdocaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Mantém a tabela de estatísticas de adoções ({@link EstatisticaAdocao}).
+ *
+ * Cada adoção registrada ou removida soma 1 ou -1 à linha da raça no mês da adoção, na
+ * mesma transação da adoção: as estatísticas nunca ficam à frente ou atrás do que foi
+ * confirmado. A raça é a guardada na adoção ({@link Adocao#getRaca()}), e não a atual do
+ * pet, que pode ser alterada depois da adoção. A consulta dos totais percorre apenas essas
+ * linhas (uma por raça e mês), e não as adoções.
+ *
+ * {@link #reconstruir()} recalcula a tabela a partir das adoções, para recuperação; é
+ * executado na inicialização quando a tabela está vazia e há adoções (bancos criados antes
+ * desta tabela).
+ */
+@Service
+public class EstatisticaAdocaoService implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticaAdocaoService.class);
+
+    private final EstatisticaAdocaoRepository estatisticaRepository;
+    private final AdocaoRepository adocaoRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public EstatisticaAdocaoService(EstatisticaAdocaoRepository estatisticaRepository,
+                                    AdocaoRepository adocaoRepository,
+                                    PlatformTransactionManager transactionManager) {
+        this.estatisticaRepository = estatisticaRepository;
+        this.adocaoRepository = adocaoRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (estatisticaRepository.count() == 0 && adocaoRepository.count() > 0) {
+            log.info("Tabela de estatísticas vazia, reconstruindo a partir das adoções");
+            reconstruir();
+        }
+    }
+
+    /**
+     * Conta uma adoção registrada. Deve ser chamado na transação que grava a adoção.
+     *
+     * <p>Normalmente a linha da raça no mês já existe e basta um UPDATE. Na primeira
+     * adoção do mês, a linha da raça é travada antes de criar a linha de estatísticas:
+     * duas transações que tentem criá-la ao mesmo tempo se enfileiram, e a segunda
+     * apenas incrementa a linha criada pela primeira, sem violar a restrição única.
+     * O {@code MERGE} do H2 não serve aqui: em inserções concorrentes da mesma chave ele
+     * também falha com violação da restrição única.</p>
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adocaoRegistrada(Adocao adocao) {
+        Raca raca = adocao.getRaca();
+        LocalDate data = adocao.getDataAdocao();
+        if (raca == null || data == null) {
+            return;
+        }
+        int ano = data.getYear();
+        int mes = data.getMonthValue();
+        if (estatisticaRepository.somar(raca, ano, mes, 1) > 0) {
+            return;
+        }
+        estatisticaRepository.travarRaca(raca.getId());
+        if (estatisticaRepository.somar(raca, ano, mes, 1) == 0) {
+            estatisticaRepository.saveAndFlush(new EstatisticaAdocao(raca, ano, mes, 1));
+        }
+    }
+
+    /**
+     * Desconta uma adoção removida. Deve ser chamado na transação que remove a adoção.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void adocaoRemovida(Adocao adocao) {
+        Raca raca = adocao.getRaca();
+        LocalDate data = adocao.getDataAdocao();
+        if (raca == null || data == null) {
+            return;
+        }
+        estatisticaRepository.somar(raca, data.getYear(), data.getMonthValue(), -1);
+        estatisticaRepository.removerSeVazia(raca, data.getYear(), data.getMonthValue());
+    }
+
+    /**
+     * Totais de adoções por espécie, raça e mês.
+     */
+    @Transactional(readOnly = true)
+    public EstatisticasAdocao consultar() {
+        List<Contagem> porEspecie = estatisticaRepository.contarPorEspecie();
+        long total = porEspecie.stream().mapToLong(Contagem::quantidade).sum();
+        return new EstatisticasAdocao(total, porEspecie,
+            estatisticaRepository.contarPorRaca(), estatisticaRepository.contarPorMes());
+    }
+
+    /**
+     * Apaga a tabela de estatísticas e a recalcula a partir das adoções, em uma única
+     * transação. Adoções registradas durante a reconstrução podem não ser contadas; deve
+     * ser executado quando não houver adoções em andamento.
+     *
+     * @return Quantidade de linhas (raça e mês) geradas
+     */
+    public int reconstruir() {
+        int linhas = transactionTemplate.execute(status -> {
+            estatisticaRepository.deleteAllInBatch();
+            List<EstatisticaAdocao> estatisticas = adocaoRepository.contarPorRacaEMes();
+            estatisticaRepository.saveAll(estatisticas);
+            return estatisticas.size();
+        });
+        log.info("Estatísticas de adoções reconstruídas: {} linhas", linhas);
+        return linhas;
+    }
+}
@@ -0,0 +1,295 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.EventoPet;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Distribui as alterações de pets e adoções ({@link EventoPet}) aos clientes
+ * inscritos em {@code /api/eventos} via Server-Sent Events.
+ *
+ * Cada evento recebe um id sequencial e fica guardado em um buffer circular com os
+ * últimos {@code pets.eventos.capacidade} eventos. O id enviado ao cliente é
+ * {@code <época>-<sequência>}, onde a época é sorteada a cada inicialização. Um cliente
+ * que reconecta com {@code Last-Event-ID} recebe os eventos que perdeu; se eles já saíram
+ * do buffer, ou o id é de outra época (o servidor foi reiniciado e a sequência recomeçou),
+ * recebe o evento {@code reinicio} e deve recarregar o estado completo pela API.
+ *
+ * A publicação não escreve nas conexões: o evento entra na fila de cada cliente e é
+ * enviado por uma tarefa no {@code eventoExecutor}. Assim, a transação que originou o
+ * evento não espera pela rede. Um cliente com mais de {@code pets.eventos.fila} eventos
+ * pendentes (conexão lenta ou parada) é desconectado e, ao reconectar, retoma pelo buffer.
+ */
+@Service
+public class EventoPetService {
+
+    /** Nome do evento enviado quando não é possível retomar a partir do id informado. */
+    public static final String EVENTO_REINICIO = "reinicio";
+
+    private static final Logger log = LoggerFactory.getLogger(EventoPetService.class);
+
+    private final String epoca = Integer.toString(new SecureRandom().nextInt() & Integer.MAX_VALUE, 36);
+    private final Registro[] buffer;
+    private final long timeout;
+    private final int fila;
+    private final Executor eventoExecutor;
+    private final List<Cliente> clientes = new CopyOnWriteArrayList<>();
+
+    // ReentrantLock em vez de synchronized: não prende a thread portadora com threads virtuais
+    private final ReentrantLock trava = new ReentrantLock();
+    private long ultimoId;
+
+    /**
+     * Evento guardado no buffer. Nas filas dos clientes, {@code evento} nulo representa
+     * o evento {@code reinicio}.
+     */
+    record Registro(long id, EventoPet evento) {
+    }
+
+    /**
+     * @param capacidade Quantidade de eventos guardados para retomada
+     * @param timeout Tempo máximo de uma conexão; o navegador reconecta sozinho com {@code Last-Event-ID}
+     * @param fila Eventos pendentes por cliente antes que ele seja desconectado
+     * @param eventoExecutor Executor que escreve os eventos nas conexões
+     */
+    public EventoPetService(@Value("${pets.eventos.capacidade}") int capacidade,
+                            @Value("${pets.eventos.timeout}") Duration timeout,
+                            @Value("${pets.eventos.fila:100}") int fila,
+                            @Qualifier("eventoExecutor") Executor eventoExecutor) {
+        this.buffer = new Registro[capacidade];
+        this.timeout = timeout.toMillis();
+        this.fila = fila;
+        this.eventoExecutor = eventoExecutor;
+    }
+
+    /**
+     * Registra o evento e o coloca na fila dos clientes conectados. Publicado dentro de
+     * uma transação, só é executado após o commit (e descartado em caso de rollback).
+     *
+     * A trava cobre só operações em memória; manter o enfileiramento sob ela garante que
+     * cada cliente receba os eventos na ordem dos ids, sem lacunas nem repetições com a
+     * retomada de {@link #inscrever(String)}.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void publicar(EventoPet evento) {
+        trava.lock();
+        try {
+            long id = ++ultimoId;
+            Registro registro = new Registro(id, evento);
+            buffer[(int) (id % buffer.length)] = registro;
+            for (Cliente cliente : clientes) {
+                if (!cliente.enfileirar(registro, true)) {
+                    descartar(cliente);
+                }
+            }
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Inscreve um novo cliente.
+     *
+     * @param ultimoIdRecebido Valor de {@code Last-Event-ID}, ou nulo para receber apenas os novos eventos
+     * @return Emissor SSE da conexão
+     */
+    public SseEmitter inscrever(String ultimoIdRecebido) {
+        Cliente cliente = new Cliente(new SseEmitter(timeout));
+        cliente.emissor.onCompletion(() -> clientes.remove(cliente));
+        cliente.emissor.onTimeout(cliente.emissor::complete);
+        cliente.emissor.onError(e -> clientes.remove(cliente));
+
+        trava.lock();
+        try {
+            if (ultimoIdRecebido != null) {
+                Optional<List<Registro>> perdidos = eventosApos(ultimoIdRecebido);
+                if (perdidos.isPresent()) {
+                    for (Registro registro : perdidos.get()) {
+                        cliente.enfileirar(registro, false);
+                    }
+                } else {
+                    // O id atual faz com que a próxima reconexão retome a partir daqui
+                    cliente.enfileirar(new Registro(ultimoId, null), false);
+                }
+            }
+            clientes.add(cliente);
+        } finally {
+            trava.unlock();
+        }
+        return cliente.emissor;
+    }
+    /**
+     * Eventos posteriores ao {@code Last-Event-ID} recebido, ou vazio se o id é de outra
+     * época (ou não tem o formato {@code <época>-<sequência>}) ou algum evento já saiu do buffer.
+     */
+    Optional<List<Registro>> eventosApos(String ultimoIdRecebido) {
+        String prefixo = epoca + "-";
+        if (!ultimoIdRecebido.startsWith(prefixo)) {
+            return Optional.empty();
+        }
+        try {
+            return eventosApos(Long.parseLong(ultimoIdRecebido.substring(prefixo.length())));
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Eventos posteriores à sequência {@code ultimoIdRecebido} desta época, ou vazio se
+     * algum deles já saiu do buffer ou a sequência ainda não foi emitida.
+     */
+    Optional<List<Registro>> eventosApos(long ultimoIdRecebido) {
+        trava.lock();
+        try {
+            if (ultimoIdRecebido > ultimoId || ultimoIdRecebido < ultimoId - buffer.length) {
+                return Optional.empty();
+            }
+            List<Registro> eventos = new ArrayList<>((int) (ultimoId - ultimoIdRecebido));
+            for (long id = ultimoIdRecebido + 1; id <= ultimoId; id++) {
+                eventos.add(buffer[(int) (id % buffer.length)]);
+            }
+            return Optional.of(eventos);
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Id do último evento publicado.
+     */
+    long getUltimoId() {
+        trava.lock();
+        try {
+            return ultimoId;
+        } finally {
+            trava.unlock();
+        }
+    }
+
+    /**
+     * Id enviado ao cliente para a sequência {@code id}: {@code <época>-<sequência>}.
+     */
+    String idEvento(long id) {
+        return epoca + "-" + id;
+    }
+
+    /**
+     * Quantidade de clientes conectados.
+     */
+    public int getClientes() {
+        return clientes.size();
+    }
+
+    /**
+     * Desconecta um cliente que não acompanha os eventos. O encerramento roda no executor:
+     * ele espera um eventual envio em andamento, que pode estar parado na rede.
+     */
+    private void descartar(Cliente cliente) {
+        clientes.remove(cliente);
+        int pendentes = cliente.descartar();
+        log.info("Cliente SSE desconectado com {} eventos pendentes", pendentes);
+        eventoExecutor.execute(cliente.emissor::complete);
+    }
+
+    /**
+     * Conexão de um cliente e a sua fila de eventos pendentes. No máximo uma tarefa de
+     * envio por cliente fica ativa no executor, esvaziando a fila em ordem.
+     */
+    private final class Cliente implements Runnable {
+
+        private final SseEmitter emissor;
+        private final Deque<Registro> pendentes = new ArrayDeque<>();
+        private final ReentrantLock travaFila = new ReentrantLock();
+        private boolean enviando;
+        private boolean descartado;
+
+        Cliente(SseEmitter emissor) {
+            this.emissor = emissor;
+        }
+
+        /**
+         * @param limitar Se a fila cheia deve recusar o evento (a retomada não é limitada)
+         * @return Falso se a fila estava cheia e o cliente deve ser descartado
+         */
+        boolean enfileirar(Registro registro, boolean limitar) {
+            travaFila.lock();
+            try {
+                if (descartado) {
+                    return true;
+                }
+                if (limitar && pendentes.size() >= fila) {
+                    return false;
+                }
+                pendentes.add(registro);
+                if (enviando) {
+                    return true;
+                }
+                enviando = true;
+            } finally {
+                travaFila.unlock();
+            }
+            eventoExecutor.execute(this);
+            return true;
+        }
+
+        int descartar() {
+            travaFila.lock();
+            try {
+                descartado = true;
+                int quantidade = pendentes.size();
+                pendentes.clear();
+                return quantidade;
+            } finally {
+                travaFila.unlock();
+            }
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                Registro registro;
+                travaFila.lock();
+                try {
+                    registro = pendentes.poll();
+                    if (registro == null) {
+                        enviando = false;
+                        return;
+                    }
+                } finally {
+                    travaFila.unlock();
+                }
+                try {
+                    emissor.send(registro.evento() == null
+                        ? SseEmitter.event().id(idEvento(registro.id())).name(EVENTO_REINICIO).data("")
+                        : SseEmitter.event()
+                            .id(idEvento(registro.id()))
+                            .name(registro.evento().tipo().getNome())
+                            .data(registro.evento(), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Cliente SSE desconectado", e);
+                    clientes.remove(this);
+                    descartar();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.storage.FotoInvalidaException;
+import app.adocao.pets.storage.PhotoStore;
+import app.adocao.pets.storage.TamanhoFoto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Serviço responsável por gerar e servir as derivadas (miniaturas) das fotos dos pets.
+ *
+ * Ao receber uma foto, as derivadas de todos os tamanhos são geradas em segundo plano
+ * por um executor limitado. Se uma derivada não existir quando for solicitada (fila
+ * cheia, falha ou foto migrada de versões anteriores), ela é gerada na hora.
+ *
+ * As dimensões são lidas do cabeçalho antes da decodificação: fotos com mais de
+ * {@code pets.fotos.pixels-maximo} pixels são recusadas, e as demais são decodificadas
+ * com subamostragem, sem carregar a imagem inteira na memória. Cada derivada
+ * (hash, tamanho) é gerada por uma única thread; as demais aguardam o resultado.
+ */
+@Service
+public class FotoDerivadaService {
+
+    private static final Logger log = LoggerFactory.getLogger(FotoDerivadaService.class);
+
+    private static final float QUALIDADE_JPEG = 0.8f;
+
+    private final PhotoStore photoStore;
+    private final Executor fotoExecutor;
+    private final long pixelsMaximo;
+
+    /** Gerações em andamento, por hash e tamanho */
+    private final ConcurrentMap<String, CompletableFuture<Void>> emAndamento = new ConcurrentHashMap<>();
+
+    public FotoDerivadaService(
+            PhotoStore photoStore,
+            @Qualifier("fotoExecutor") Executor fotoExecutor,
+            @Value("${pets.fotos.pixels-maximo:50000000}") long pixelsMaximo) {
+        this.photoStore = photoStore;
+        this.fotoExecutor = fotoExecutor;
+        this.pixelsMaximo = pixelsMaximo;
+    }
+
+    /**
+     * Agenda a geração, em segundo plano, das derivadas de uma foto recém-enviada.
+     *
+     * @param hash Hash da foto no {@link PhotoStore}
+     */
+    public void agendar(String hash) {
+        fotoExecutor.execute(() -> {
+            for (TamanhoFoto tamanho : TamanhoFoto.values()) {
+                if (tamanho != TamanhoFoto.ORIGINAL) {
+                    try {
+                        gerarUmaVez(hash, tamanho);
+                    } catch (IOException | RuntimeException e) {
+                        log.warn("Falha ao gerar a derivada {} da foto {}", tamanho.getNome(), hash, e);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Retorna a foto no tamanho solicitado, gerando a derivada se ela ainda não existir.
+     *
+     * @param hash Hash da foto no {@link PhotoStore}
+     * @param tamanho Tamanho desejado
+     * @return Recurso com a imagem, ou vazio se a foto não existir
+     * @throws FotoInvalidaException se a foto exceder o limite de pixels
+     */
+    public Optional<Resource> carregar(String hash, TamanhoFoto tamanho) throws IOException {
+        if (tamanho == TamanhoFoto.ORIGINAL) {
+            return photoStore.carregar(hash);
+        }
+        Optional<Resource> derivada = photoStore.carregarDerivada(hash, tamanho);
+        if (derivada.isPresent() || !photoStore.existe(hash)) {
+            return derivada;
+        }
+        gerarUmaVez(hash, tamanho);
+        return photoStore.carregarDerivada(hash, tamanho);
+    }
+
+    /**
+     * Gera a derivada se ela ainda não existir. Chamadas concorrentes para o mesmo hash e
+     * tamanho aguardam a geração em andamento em vez de decodificar a foto de novo.
+     */
+    private void gerarUmaVez(String hash, TamanhoFoto tamanho) throws IOException {
+        String chave = hash + "-" + tamanho.getNome();
+        CompletableFuture<Void> geracao = new CompletableFuture<>();
+        CompletableFuture<Void> existente = emAndamento.putIfAbsent(chave, geracao);
+        if (existente != null) {
+            aguardar(existente);
+            return;
+        }
+        try {
+            // A geração anterior pode ter terminado entre a consulta do chamador e o registro acima
+            if (photoStore.carregarDerivada(hash, tamanho).isEmpty()) {
+                gerar(hash, tamanho);
+            }
+            geracao.complete(null);
+        } catch (IOException | RuntimeException e) {
+            geracao.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chave, geracao);
+        }
+    }
+
+    private static void aguardar(CompletableFuture<Void> geracao) throws IOException {
+        try {
+            geracao.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException erro) {
+                throw erro;
+            }
+            if (e.getCause() instanceof RuntimeException erro) {
+                throw erro;
+            }
+            throw e;
+        }
+    }
+
+    private void gerar(String hash, TamanhoFoto tamanho) throws IOException {
+        Resource original = photoStore.carregar(hash).orElseThrow();
+        BufferedImage imagem;
+        try (InputStream entrada = original.getInputStream();
+             ImageInputStream imagemEntrada = ImageIO.createImageInputStream(entrada)) {
+            imagem = ler(imagemEntrada, tamanho.getLadoMaximo());
+        }
+
+        // Formatos que o ImageIO não decodifica, ou imagens que já cabem no tamanho,
+        // são servidos com os bytes originais
+        if (imagem == null) {
+            photoStore.salvarDerivada(hash, tamanho, original.getContentAsByteArray());
+            return;
+        }
+        photoStore.salvarDerivada(hash, tamanho, codificarJpeg(redimensionar(imagem, tamanho.getLadoMaximo())));
+    }
+
+    /**
+     * Decodifica a imagem com subamostragem, mantendo pelo menos o dobro do lado máximo
+     * para o redimensionamento final.
+     *
+     * @return Imagem subamostrada, ou {@code null} se não houver leitor para o formato ou
+     *         se a imagem já couber no tamanho
+     * @throws FotoInvalidaException se a imagem exceder o limite de pixels
+     */
+    private BufferedImage ler(ImageInputStream entrada, int ladoMaximo) throws IOException {
+        if (entrada == null) {
+            return null;
+        }
+        Iterator<ImageReader> leitores = ImageIO.getImageReaders(entrada);
+        if (!leitores.hasNext()) {
+            return null;
+        }
+        ImageReader leitor = leitores.next();
+        try {
+            leitor.setInput(entrada, true, true);
+            int largura = leitor.getWidth(0);
+            int altura = leitor.getHeight(0);
+            if ((long) largura * altura > pixelsMaximo) {
+                throw new FotoInvalidaException(
+                        "A foto tem " + largura + "x" + altura + " pixels; o máximo é " + pixelsMaximo);
+            }
+            int maiorLado = Math.max(largura, altura);
+            if (maiorLado <= ladoMaximo) {
+                return null;
+            }
+            int passo = Math.max(1, maiorLado / (2 * ladoMaximo));
+            ImageReadParam parametros = leitor.getDefaultReadParam();
+            parametros.setSourceSubsampling(passo, passo, 0, 0);
+            return leitor.read(0, parametros);
+        } finally {
+            leitor.dispose();
+        }
+    }
+
+    private static BufferedImage redimensionar(BufferedImage imagem, int ladoMaximo) {
+        double escala = (double) ladoMaximo / Math.max(imagem.getWidth(), imagem.getHeight());
+        int largura = Math.max(1, (int) Math.round(imagem.getWidth() * escala));
+        int altura = Math.max(1, (int) Math.round(imagem.getHeight() * escala));
+
+        BufferedImage reduzida = new BufferedImage(largura, altura, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = reduzida.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            // Fundo branco para imagens com transparência (PNG/GIF), já que JPEG não tem canal alfa
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, largura, altura);
+            g.drawImage(imagem, 0, 0, largura, altura, null);
+        } finally {
+            g.dispose();
+        }
+        return reduzida;
+    }
+
+    private static byte[] codificarJpeg(BufferedImage imagem) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(saida)) {
+            writer.setOutput(ios);
+            ImageWriteParam parametros = writer.getDefaultWriteParam();
+            parametros.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            parametros.setCompressionQuality(QUALIDADE_JPEG);
+            writer.write(null, new IIOImage(imagem, null, null), parametros);
+        } finally {
+            writer.dispose();
+        }
+        return saida.toByteArray();
+    }
+}
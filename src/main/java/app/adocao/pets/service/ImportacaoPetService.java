@@ -0,0 +1,316 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.EventoPet;
+import app.adocao.pets.dto.ResultadoImportacao;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.storage.PhotoStore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Serviço responsável pela importação de pets em lote, a partir de arquivos CSV ou NDJSON.
+ *
+ * O arquivo é lido linha a linha e processado em lotes de {@code pets.importacao.lote}
+ * registros. Em cada lote as raças são resolvidas pelo {@link CatalogoCache}, sem acesso
+ * ao banco, e os pets são inseridos em uma única transação, com os INSERTs agrupados em
+ * batches JDBC do mesmo tamanho. Registros inválidos são rejeitados individualmente, sem
+ * interromper a importação.
+ *
+ * Campos de cada registro: {@code nome}, {@code idade}, {@code racaId}, {@code descricao}
+ * e {@code foto}, que referencia o nome de uma entrada do arquivo ZIP de fotos.
+ */
+@Service
+public class ImportacaoPetService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoPetService.class);
+
+    private static final int MAXIMO_ERROS_DETALHADOS = 1000;
+
+    /**
+     * Formatos de arquivo aceitos na importação.
+     */
+    public enum Formato {
+        /** CSV com cabeçalho na primeira linha, separado por vírgulas. */
+        CSV,
+        /** Um objeto JSON por linha. */
+        NDJSON
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CatalogoCache catalogoCache;
+    private final PhotoStore photoStore;
+    private final FotoDerivadaService fotoDerivadaService;
+    private final BuscaPetService buscaPetService;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventos;
+    private final TransactionTemplate transactionTemplate;
+    private final int tamanhoLote;
+
+    public ImportacaoPetService(CatalogoCache catalogoCache, PhotoStore photoStore,
+                                FotoDerivadaService fotoDerivadaService, BuscaPetService buscaPetService,
+                                ObjectMapper objectMapper, ApplicationEventPublisher eventos,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${pets.importacao.lote:50}") int tamanhoLote) {
+        this.catalogoCache = catalogoCache;
+        this.photoStore = photoStore;
+        this.fotoDerivadaService = fotoDerivadaService;
+        this.buscaPetService = buscaPetService;
+        this.objectMapper = objectMapper;
+        this.eventos = eventos;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.tamanhoLote = tamanhoLote;
+    }
+
+    /**
+     * Importa os pets do arquivo informado.
+     *
+     * @param arquivo Conteúdo do arquivo CSV ou NDJSON, em UTF-8
+     * @param formato Formato do arquivo
+     * @param fotos Arquivo ZIP com as fotos referenciadas pelo campo {@code foto}, ou nulo
+     * @return Resumo da importação, com os erros por linha
+     */
+    public ResultadoImportacao importar(InputStream arquivo, Formato formato, ZipFile fotos) throws IOException {
+        Progresso progresso = new Progresso();
+        BufferedReader leitor = new BufferedReader(new InputStreamReader(arquivo, StandardCharsets.UTF_8));
+
+        List<String> cabecalho = null;
+        List<Registro> lote = new ArrayList<>(tamanhoLote);
+        long numeroLinha = 0;
+        String linha;
+        while ((linha = leitor.readLine()) != null) {
+            numeroLinha++;
+            if (linha.isBlank()) {
+                continue;
+            }
+            if (formato == Formato.CSV && cabecalho == null) {
+                cabecalho = separarCsv(linha).stream().map(String::trim).toList();
+                continue;
+            }
+
+            progresso.total++;
+            try {
+                Map<String, String> campos = formato == Formato.CSV
+                    ? camposCsv(cabecalho, separarCsv(linha))
+                    : camposJson(linha);
+                lote.add(new Registro(numeroLinha, criarPet(campos, fotos)));
+            } catch (IllegalArgumentException | IOException e) {
+                progresso.rejeitar(numeroLinha, e.getMessage());
+            }
+
+            if (lote.size() == tamanhoLote) {
+                gravarLote(lote, progresso);
+                lote.clear();
+            }
+        }
+        if (!lote.isEmpty()) {
+            gravarLote(lote, progresso);
+        }
+
+        log.info("Importação concluída: {} registros, {} importados, {} rejeitados",
+            progresso.total, progresso.importados, progresso.falhas);
+        return new ResultadoImportacao(progresso.total, progresso.importados, progresso.falhas, progresso.erros);
+    }
+
+    /**
+     * Grava o lote em uma única transação, com INSERTs em batch. Se o lote falhar,
+     * cada registro é gravado separadamente, para que apenas os inválidos sejam rejeitados.
+     */
+    private void gravarLote(List<Registro> lote, Progresso progresso) {
+        List<Pet> pets = lote.stream().map(Registro::pet).toList();
+        try {
+            transactionTemplate.executeWithoutResult(status -> persistir(pets));
+            progresso.importados += lote.size();
+            pets.forEach(this::agendarDerivadas);
+            buscaPetService.indexar(pets);
+        } catch (RuntimeException falhaLote) {
+            log.debug("Lote rejeitado, gravando registros individualmente", falhaLote);
+            for (Registro registro : lote) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persistir(List.of(registro.pet())));
+                    progresso.importados++;
+                    agendarDerivadas(registro.pet());
+                    buscaPetService.indexar(registro.pet());
+                } catch (RuntimeException e) {
+                    progresso.rejeitar(registro.linha(),
+                        "Erro ao gravar: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage());
+                }
+            }
+        }
+    }
+
+    private void agendarDerivadas(Pet pet) {
+        if (pet.getFotoHash() != null) {
+            fotoDerivadaService.agendar(pet.getFotoHash());
+        }
+    }
+
+    private void persistir(List<Pet> pets) {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(tamanhoLote);
+        for (Pet pet : pets) {
+            // Uma tentativa anterior que falhou pode ter atribuído id e versão
+            pet.setId(null);
+            pet.setVersao(null);
+            entityManager.persist(pet);
+        }
+        entityManager.flush();
+        // Entregues apenas se o lote (ou o registro) for confirmado
+        pets.forEach(pet -> eventos.publishEvent(EventoPet.petCriado(pet)));
+        entityManager.clear();
+    }
+
+    private Pet criarPet(Map<String, String> campos, ZipFile fotos) throws IOException {
+        String nome = campos.get("nome");
+        if (nome == null || nome.isBlank()) {
+            throw new IllegalArgumentException("Nome é obrigatório");
+        }
+
+        Raca raca = catalogoCache.buscarRaca(numero(campos, "racaId"))
+            .orElseThrow(() -> new IllegalArgumentException("Raça inválida: " + campos.get("racaId")));
+
+        int idade = numero(campos, "idade").intValue();
+        if (idade < 0) {
+            throw new IllegalArgumentException("Idade inválida: " + idade);
+        }
+
+        Pet pet = new Pet();
+        pet.setNome(nome.trim());
+        pet.setIdade(idade);
+        pet.setRaca(raca);
+        pet.setDescricao(campos.get("descricao"));
+        pet.setAdotado(false);
+
+        String foto = campos.get("foto");
+        if (foto != null && !foto.isBlank()) {
+            if (fotos == null) {
+                throw new IllegalArgumentException("Foto referenciada sem arquivo de fotos: " + foto);
+            }
+            ZipEntry entrada = fotos.getEntry(foto.trim());
+            if (entrada == null || entrada.isDirectory()) {
+                throw new IllegalArgumentException("Foto não encontrada no arquivo de fotos: " + foto);
+            }
+            try (InputStream conteudo = fotos.getInputStream(entrada)) {
+                pet.setFotoHash(photoStore.salvar(conteudo));
+            }
+        }
+        return pet;
+    }
+
+    private static Long numero(Map<String, String> campos, String campo) {
+        String valor = campos.get(campo);
+        if (valor == null || valor.isBlank()) {
+            throw new IllegalArgumentException("Campo obrigatório ausente: " + campo);
+        }
+        try {
+            return Long.valueOf(valor.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Valor inválido para " + campo + ": " + valor);
+        }
+    }
+
+    private Map<String, String> camposJson(String linha) {
+        JsonNode objeto;
+        try {
+            objeto = objectMapper.readTree(linha);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("JSON inválido: " + e.getOriginalMessage());
+        }
+        if (!objeto.isObject()) {
+            throw new IllegalArgumentException("Cada linha deve conter um objeto JSON");
+        }
+        Map<String, String> campos = new HashMap<>();
+        objeto.fields().forEachRemaining(campo ->
+            campos.put(campo.getKey(), campo.getValue().isNull() ? null : campo.getValue().asText()));
+        return campos;
+    }
+
+    private static Map<String, String> camposCsv(List<String> cabecalho, List<String> valores) {
+        if (valores.size() > cabecalho.size()) {
+            throw new IllegalArgumentException("Linha com mais colunas que o cabeçalho");
+        }
+        Map<String, String> campos = new HashMap<>();
+        for (int i = 0; i < valores.size(); i++) {
+            campos.put(cabecalho.get(i), valores.get(i));
+        }
+        return campos;
+    }
+
+    /**
+     * Separa uma linha CSV em campos. Aceita campos entre aspas duplas, com vírgulas
+     * e aspas escapadas ({@code ""}) no conteúdo; quebras de linha dentro de campos não
+     * são suportadas.
+     */
+    static List<String> separarCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    atual.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new IllegalArgumentException("Aspas não fechadas");
+        }
+        campos.add(atual.toString());
+        return campos;
+    }
+
+    private record Registro(long linha, Pet pet) {
+    }
+
+    private static class Progresso {
+        private int total;
+        private int importados;
+        private int falhas;
+        private final List<ResultadoImportacao.Erro> erros = new ArrayList<>();
+
+        private void rejeitar(long linha, String mensagem) {
+            falhas++;
+            if (erros.size() < MAXIMO_ERROS_DETALHADOS) {
+                erros.add(new ResultadoImportacao.Erro(linha, mensagem));
+            }
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.Contagem;
+import app.adocao.pets.dto.FaixaIdade;
+import app.adocao.pets.dto.Pagina;
+import app.adocao.pets.dto.PetResumo;
+import app.adocao.pets.dto.ResultadoFacetado;
+import app.adocao.pets.dto.ResultadoFacetado.ValorFaceta;
+import app.adocao.pets.repository.PetRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Navegação por facetas dos pets disponíveis para adoção: filtros por espécie, raça,
+ * faixa de idade e texto, com a quantidade de pets para cada valor de faceta.
+ *
+ * As contagens vêm de consultas de agregação ({@code group by}) no banco, e os pets
+ * da página são carregados como {@link PetResumo}; nenhuma entidade é instanciada,
+ * independentemente da quantidade de pets cadastrados.
+ *
+ * O filtro de texto considera no máximo {@code pets.busca.maximo-navegacao} pets
+ * disponíveis, os mais relevantes; quando há mais, o resultado indica que o limite
+ * foi atingido.
+ */
+@Service
+public class NavegacaoPetService {
+
+    private final PetRepository petRepository;
+    private final BuscaPetService buscaPetService;
+    private final int maximoResultadosTexto;
+
+    /**
+     * @param maximoResultadosTexto Quantidade máxima de pets considerados em um filtro de texto
+     */
+    public NavegacaoPetService(PetRepository petRepository, BuscaPetService buscaPetService,
+                               @Value("${pets.busca.maximo-navegacao:10000}") int maximoResultadosTexto) {
+        this.petRepository = petRepository;
+        this.buscaPetService = buscaPetService;
+        this.maximoResultadosTexto = maximoResultadosTexto;
+    }
+
+    /**
+     * Filtros da navegação; valores nulos não filtram.
+     *
+     * @param especieId ID da espécie
+     * @param racaId ID da raça
+     * @param idade Faixa de idade
+     * @param texto Texto da busca textual (ver {@link BuscaPetService#buscar})
+     */
+    public record Filtro(Long especieId, Long racaId, FaixaIdade idade, String texto) {
+    }
+
+    /**
+     * Busca uma página de pets disponíveis e as contagens das facetas.
+     *
+     * @param filtro Filtros aplicados
+     * @param after Cursor (ID do último pet da página anterior)
+     * @param limite Tamanho da página
+     */
+    @Transactional(readOnly = true)
+    public ResultadoFacetado navegar(Filtro filtro, long after, int limite) {
+        // Sem texto, as consultas não recebem o filtro de IDs
+        List<Long> ids = null;
+        boolean limiteAtingido = false;
+        if (filtro.texto() != null && !filtro.texto().isBlank()) {
+            // Um resultado a mais apenas para saber se o limite foi atingido
+            ids = buscaPetService.buscarDisponiveis(filtro.texto(), maximoResultadosTexto + 1);
+            limiteAtingido = ids.size() > maximoResultadosTexto;
+            if (limiteAtingido) {
+                ids = ids.subList(0, maximoResultadosTexto);
+            }
+        }
+        if (ids != null && ids.isEmpty()) {
+            return new ResultadoFacetado(List.of(), null, limite, 0, false, List.of(), List.of(), List.of());
+        }
+
+        Integer idadeMin = filtro.idade() != null ? filtro.idade().getIdadeMinima() : null;
+        Integer idadeMax = filtro.idade() != null ? filtro.idade().getIdadeMaxima() : null;
+
+        // Busca um registro a mais apenas para saber se existe próxima página
+        Pagina<PetResumo> pagina = Pagina.de(petRepository.buscarResumosDisponiveis(
+            after, filtro.especieId(), filtro.racaId(), idadeMin, idadeMax, ids, Limit.of(limite + 1)),
+            limite, PetResumo::id);
+
+        List<Contagem> especies = petRepository.contarDisponiveisPorEspecie(
+            filtro.racaId(), idadeMin, idadeMax, ids);
+        List<Contagem> racas = petRepository.contarDisponiveisPorRaca(
+            filtro.especieId(), idadeMin, idadeMax, ids);
+        List<Contagem> idades = petRepository.contarDisponiveisPorIdade(
+            filtro.especieId(), filtro.racaId(), ids);
+
+        // A faceta de espécies aplica todos os outros filtros: o total é a soma da
+        // espécie selecionada (ou de todas, incluindo pets sem raça)
+        long total = especies.stream()
+            .filter(contagem -> filtro.especieId() == null || filtro.especieId().equals(contagem.id()))
+            .mapToLong(Contagem::quantidade)
+            .sum();
+
+        return new ResultadoFacetado(pagina.itens(), pagina.proximoCursor(), limite, total, limiteAtingido,
+            valores(especies, filtro.especieId()), valores(racas, filtro.racaId()),
+            faixas(idades, filtro.idade()));
+    }
+
+    private static List<ValorFaceta> valores(List<Contagem> contagens, Long selecionado) {
+        List<ValorFaceta> valores = new ArrayList<>();
+        for (Contagem contagem : contagens) {
+            // Pets sem raça (ou espécie) entram no total, mas não viram valor de faceta
+            if (contagem.id() != null) {
+                valores.add(new ValorFaceta(contagem.id().toString(), contagem.nome(), contagem.quantidade(),
+                    Objects.equals(contagem.id(), selecionado)));
+            }
+        }
+        return valores;
+    }
+
+    private static List<ValorFaceta> faixas(List<Contagem> idades, FaixaIdade selecionada) {
+        Map<FaixaIdade, Long> porFaixa = new EnumMap<>(FaixaIdade.class);
+        for (Contagem contagem : idades) {
+            porFaixa.merge(FaixaIdade.daIdade(contagem.id().intValue()), contagem.quantidade(), Long::sum);
+        }
+        List<ValorFaceta> valores = new ArrayList<>();
+        for (Map.Entry<FaixaIdade, Long> faixa : porFaixa.entrySet()) {
+            valores.add(new ValorFaceta(faixa.getKey().getNome(), faixa.getKey().getRotulo(), faixa.getValue(),
+                faixa.getKey() == selecionada));
+        }
+        return valores;
+    }
+}
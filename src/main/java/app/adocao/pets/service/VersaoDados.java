@@ -0,0 +1,90 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.EventoPet;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Versões dos conjuntos de dados exibidos nas páginas, usadas como chave do cache de
+ * páginas ({@link app.adocao.pets.config.CachePaginasFilter}).
+ *
+ * Toda escrita incrementa a versão do conjunto alterado. Dentro de uma transação, o
+ * incremento acontece só depois da confirmação: uma página gerada com a versão nova
+ * sempre enxerga os dados que a originaram.
+ *
+ * Pets e adoções são incrementados pelos {@link EventoPet} publicados pelos controladores
+ * e pelo {@link AdocaoService}; espécies e raças por {@link CatalogoCache#recarregar()};
+ * adotantes pelos seus controladores.
+ */
+@Service
+public class VersaoDados {
+
+    public enum Conjunto {
+        PETS,
+        /** Espécies e raças. */
+        CATALOGO,
+        ADOTANTES,
+        ADOCOES
+    }
+
+    /**
+     * @param numero Versão, incrementada a cada escrita
+     * @param alteradaEm Momento da última escrita ({@link System#nanoTime()})
+     */
+    public record Versao(long numero, long alteradaEm) {
+    }
+
+    private final AtomicReferenceArray<Versao> versoes = new AtomicReferenceArray<>(Conjunto.values().length);
+
+    public VersaoDados() {
+        for (Conjunto conjunto : Conjunto.values()) {
+            versoes.set(conjunto.ordinal(), new Versao(0, System.nanoTime()));
+        }
+    }
+
+    public Versao versao(Conjunto conjunto) {
+        return versoes.get(conjunto.ordinal());
+    }
+
+    /**
+     * Incrementa a versão dos conjuntos informados, imediatamente ou, se houver uma
+     * transação ativa, depois que ela for confirmada.
+     */
+    public void incrementar(Conjunto... conjuntos) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    incrementarAgora(conjuntos);
+                }
+            });
+        } else {
+            incrementarAgora(conjuntos);
+        }
+    }
+
+    private void incrementarAgora(Conjunto... conjuntos) {
+        long agora = System.nanoTime();
+        for (Conjunto conjunto : conjuntos) {
+            versoes.updateAndGet(conjunto.ordinal(), atual -> new Versao(atual.numero() + 1, agora));
+        }
+    }
+
+    /**
+     * Recebe as alterações de pets e adoções depois da confirmação da transação.
+     * Uma adoção também altera o pet (que passa a constar como adotado).
+     * O incremento é imediato: nesta fase não é mais possível registrar outra
+     * sincronização na transação.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void alterado(EventoPet evento) {
+        switch (evento.tipo()) {
+            case PET_CRIADO, PET_ATUALIZADO, PET_REMOVIDO -> incrementarAgora(Conjunto.PETS);
+            case ADOCAO_REGISTRADA, ADOCAO_REMOVIDA -> incrementarAgora(Conjunto.PETS, Conjunto.ADOCOES);
+        }
+    }
+}
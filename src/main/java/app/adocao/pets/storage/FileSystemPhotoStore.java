@@ -0,0 +1,185 @@
+package app.adocao.pets.storage;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * {@link PhotoStore} que grava as fotos no sistema de arquivos local.
+ *
+ * As fotos ficam em {@code <diretorio>/ab/cd/abcd...}, onde {@code abcd...} é o hash
+ * SHA-256 do conteúdo. A gravação é feita em um arquivo temporário e movida
+ * atomicamente para o destino, de forma que leitores nunca vejam arquivos parciais.
+ * As derivadas ficam em {@code <diretorio>/derivadas/<tamanho>/ab/cd/abcd...}.
+ *
+ * Uploads recebidos por {@link #salvar(InputStream)} passam por um buffer fixo de
+ * {@value #TAMANHO_BUFFER} bytes: o custo em heap por upload é constante, qualquer
+ * que seja o tamanho da imagem.
+ */
+@Component
+public class FileSystemPhotoStore implements PhotoStore {
+
+    private static final Pattern HASH_VALIDO = Pattern.compile("[0-9a-f]{64}");
+
+    private static final int TAMANHO_BUFFER = 8192;
+
+    private static final DataSize TAMANHO_MAXIMO_PADRAO = DataSize.ofMegabytes(10);
+
+    private final Path diretorio;
+
+    private final long tamanhoMaximo;
+
+    public FileSystemPhotoStore(Path diretorio) {
+        this(diretorio, TAMANHO_MAXIMO_PADRAO);
+    }
+
+    @Autowired
+    public FileSystemPhotoStore(
+            @Value("${pets.fotos.diretorio}") Path diretorio,
+            @Value("${pets.fotos.tamanho-maximo}") DataSize tamanhoMaximo) {
+        this.diretorio = diretorio;
+        this.tamanhoMaximo = tamanhoMaximo.toBytes();
+        try {
+            Files.createDirectories(diretorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Não foi possível criar o diretório de fotos: " + diretorio, e);
+        }
+    }
+
+    @Override
+    public String salvar(byte[] conteudo) throws IOException {
+        String hash = HexFormat.of().formatHex(sha256().digest(conteudo));
+        Path destino = caminho(hash);
+        if (Files.exists(destino)) {
+            return hash;
+        }
+
+        gravar(destino, conteudo);
+        return hash;
+    }
+
+    @Override
+    public String salvar(InputStream conteudo) throws IOException {
+        MessageDigest sha256 = sha256();
+        Path temporario = Files.createTempFile(diretorio, "upload-", ".tmp");
+        try {
+            try (OutputStream saida = Files.newOutputStream(temporario)) {
+                byte[] cabecalho = conteudo.readNBytes(TipoImagem.TAMANHO_CABECALHO);
+                if (MediaType.APPLICATION_OCTET_STREAM.equals(TipoImagem.detectar(cabecalho))) {
+                    throw new FotoInvalidaException("A foto deve ser uma imagem JPEG, PNG, GIF ou WebP");
+                }
+                sha256.update(cabecalho);
+                saida.write(cabecalho);
+
+                byte[] buffer = new byte[TAMANHO_BUFFER];
+                long total = cabecalho.length;
+                int lidos;
+                while ((lidos = conteudo.read(buffer)) != -1) {
+                    total += lidos;
+                    if (total > tamanhoMaximo) {
+                        throw new FotoMuitoGrandeException(
+                                "A foto excede o tamanho máximo de " + tamanhoMaximo + " bytes");
+                    }
+                    sha256.update(buffer, 0, lidos);
+                    saida.write(buffer, 0, lidos);
+                }
+            }
+
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            Path destino = caminho(hash);
+            if (!Files.exists(destino)) {
+                mover(temporario, destino);
+            }
+            return hash;
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    @Override
+    public Optional<Resource> carregar(String hash) {
+        if (!existe(hash)) {
+            return Optional.empty();
+        }
+        return Optional.of(new FileSystemResource(caminho(hash)));
+    }
+
+    @Override
+    public boolean existe(String hash) {
+        return hash != null && HASH_VALIDO.matcher(hash).matches() && Files.isRegularFile(caminho(hash));
+    }
+
+    @Override
+    public void salvarDerivada(String hash, TamanhoFoto tamanho, byte[] conteudo) throws IOException {
+        if (!existe(hash)) {
+            throw new IllegalArgumentException("Foto inexistente: " + hash);
+        }
+        gravar(caminhoDerivada(hash, tamanho), conteudo);
+    }
+
+    @Override
+    public Optional<Resource> carregarDerivada(String hash, TamanhoFoto tamanho) {
+        if (!existe(hash)) {
+            return Optional.empty();
+        }
+        Path derivada = caminhoDerivada(hash, tamanho);
+        return Files.isRegularFile(derivada) ? Optional.of(new FileSystemResource(derivada)) : Optional.empty();
+    }
+
+    private void gravar(Path destino, byte[] conteudo) throws IOException {
+        Path temporario = Files.createTempFile(diretorio, "upload-", ".tmp");
+        try {
+            Files.write(temporario, conteudo);
+            mover(temporario, destino);
+        } finally {
+            Files.deleteIfExists(temporario);
+        }
+    }
+
+    private static void mover(Path temporario, Path destino) throws IOException {
+        Files.createDirectories(destino.getParent());
+        try {
+            Files.move(temporario, destino, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException e) {
+            // Outra requisição gravou o mesmo conteúdo ao mesmo tempo
+        }
+    }
+
+    private Path caminho(String hash) {
+        return fragmentar(diretorio, hash);
+    }
+
+    private Path caminhoDerivada(String hash, TamanhoFoto tamanho) {
+        return fragmentar(diretorio.resolve("derivadas").resolve(tamanho.getNome()), hash);
+    }
+
+    private static Path fragmentar(Path base, String hash) {
+        return base.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
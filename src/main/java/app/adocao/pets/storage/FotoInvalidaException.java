@@ -0,0 +1,16 @@
+package app.adocao.pets.storage;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que o conteúdo enviado como foto não é uma imagem reconhecida.
+ * Respondida com 400 (Bad Request).
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class FotoInvalidaException extends IllegalArgumentException {
+
+    public FotoInvalidaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,85 @@
+package app.adocao.pets.storage;
+
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.migration.Context;
+import org.flywaydb.core.api.migration.JavaMigration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Migração V5 do Flyway: copia as fotos gravadas na antiga coluna {@code pet.foto} (LOB)
+ * para o {@link PhotoStore} e remove a coluna.
+ *
+ * Só bancos criados antes do armazenamento em arquivos têm a coluna; nos demais a
+ * migração não altera nada. Cada foto é copiada para o store, o hash é gravado em
+ * {@code pet.foto_hash} e, ao final, a coluna é removida. Como o store é endereçado por
+ * conteúdo, uma migração interrompida pode ser executada novamente sem duplicar arquivos.
+ *
+ * É um bean do Spring para receber o {@link PhotoStore}; o Spring Boot entrega ao Flyway
+ * todos os beans {@link JavaMigration}.
+ */
+@Component
+public class FotoMigracao implements JavaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(FotoMigracao.class);
+
+    private final PhotoStore photoStore;
+
+    public FotoMigracao(PhotoStore photoStore) {
+        this.photoStore = photoStore;
+    }
+
+    @Override
+    public MigrationVersion getVersion() {
+        return MigrationVersion.fromVersion("5");
+    }
+
+    @Override
+    public String getDescription() {
+        return "fotos para o PhotoStore";
+    }
+
+    @Override
+    public Integer getChecksum() {
+        return null;
+    }
+
+    @Override
+    public boolean canExecuteInTransaction() {
+        return true;
+    }
+
+    @Override
+    public void migrate(Context context) throws IOException {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(new SingleConnectionDataSource(context.getConnection(), true));
+        if (!colunaFotoExiste(jdbcTemplate)) {
+            return;
+        }
+
+        List<Long> ids = jdbcTemplate.queryForList("select id from pet where foto is not null", Long.class);
+        log.info("Migrando {} fotos da tabela pet para o PhotoStore", ids.size());
+
+        // Uma foto por vez, para não carregar todas as imagens na memória
+        for (Long id : ids) {
+            byte[] foto = jdbcTemplate.queryForObject("select foto from pet where id = ?", byte[].class, id);
+            String hash = photoStore.salvar(foto);
+            jdbcTemplate.update("update pet set foto_hash = ?, foto = null where id = ?", hash, id);
+        }
+
+        jdbcTemplate.execute("alter table pet drop column foto");
+        log.info("Migração de fotos concluída");
+    }
+
+    private static boolean colunaFotoExiste(JdbcTemplate jdbcTemplate) {
+        Integer colunas = jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.columns where table_name = 'PET' and column_name = 'FOTO'",
+            Integer.class);
+        return colunas != null && colunas > 0;
+    }
+}
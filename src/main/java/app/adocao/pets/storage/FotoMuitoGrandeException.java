@@ -0,0 +1,16 @@
+package app.adocao.pets.storage;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Indica que a foto enviada excede o tamanho máximo aceito pelo armazenamento.
+ * Respondida com 413 (Payload Too Large).
+ */
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class FotoMuitoGrandeException extends FotoInvalidaException {
+
+    public FotoMuitoGrandeException(String message) {
+        super(message);
+    }
+}
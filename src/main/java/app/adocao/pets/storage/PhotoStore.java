@@ -0,0 +1,68 @@
+package app.adocao.pets.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Optional;
+
+/**
+ * Armazenamento de fotos de pets endereçado por conteúdo.
+ *
+ * Cada foto é identificada pelo hash SHA-256 (hexadecimal) dos seus bytes. O mesmo
+ * conteúdo salvo mais de uma vez é armazenado uma única vez, e a entidade
+ * {@link app.adocao.pets.model.Pet} guarda apenas esse hash.
+ */
+public interface PhotoStore {
+
+    /**
+     * Armazena a foto, caso ainda não exista uma com o mesmo conteúdo.
+     *
+     * @param conteudo Bytes da imagem
+     * @return Hash SHA-256 que identifica a foto
+     */
+    String salvar(byte[] conteudo) throws IOException;
+
+    /**
+     * Armazena a foto lida de {@code conteudo}, caso ainda não exista uma com o
+     * mesmo conteúdo. Os bytes são copiados em blocos para um arquivo temporário e
+     * o hash é calculado durante a cópia, sem carregar a imagem inteira em memória.
+     *
+     * @param conteudo Fluxo com os bytes da imagem (não é fechado)
+     * @return Hash SHA-256 que identifica a foto
+     * @throws FotoInvalidaException se o conteúdo não for uma imagem reconhecida
+     * @throws FotoMuitoGrandeException se o conteúdo exceder o tamanho máximo
+     */
+    String salvar(InputStream conteudo) throws IOException;
+
+    /**
+     * Localiza uma foto armazenada.
+     *
+     * @param hash Hash retornado por {@link #salvar(byte[])}
+     * @return Recurso com os bytes da foto, ou vazio se não existir
+     */
+    Optional<Resource> carregar(String hash);
+
+    /**
+     * Indica se existe uma foto armazenada com o hash informado.
+     */
+    boolean existe(String hash);
+
+    /**
+     * Armazena uma derivada (versão redimensionada) da foto.
+     *
+     * @param hash Hash da foto original
+     * @param tamanho Tamanho da derivada
+     * @param conteudo Bytes da imagem derivada
+     */
+    void salvarDerivada(String hash, TamanhoFoto tamanho, byte[] conteudo) throws IOException;
+
+    /**
+     * Localiza uma derivada da foto.
+     *
+     * @param hash Hash da foto original
+     * @param tamanho Tamanho da derivada
+     * @return Recurso com os bytes da derivada, ou vazio se ainda não foi gerada
+     */
+    Optional<Resource> carregarDerivada(String hash, TamanhoFoto tamanho);
+}
@@ -0,0 +1,45 @@
+package app.adocao.pets.storage;
+
+import java.util.Locale;
+
+/**
+ * Tamanhos em que uma foto de pet pode ser servida.
+ *
+ * Exceto {@link #ORIGINAL}, cada tamanho é uma derivada gerada a partir da foto enviada,
+ * limitada a {@link #getLadoMaximo()} pixels no maior lado.
+ */
+public enum TamanhoFoto {
+    THUMB(160),
+    CARD(480),
+    FULL(1280),
+    ORIGINAL(0);
+
+    private final int ladoMaximo;
+
+    TamanhoFoto(int ladoMaximo) {
+        this.ladoMaximo = ladoMaximo;
+    }
+
+    public int getLadoMaximo() {
+        return ladoMaximo;
+    }
+
+    /**
+     * Nome usado no parâmetro {@code ?size=} e no armazenamento das derivadas.
+     */
+    public String getNome() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Converte o valor do parâmetro {@code ?size=}; nulo ou vazio corresponde ao original.
+     *
+     * @throws IllegalArgumentException se o tamanho não existir
+     */
+    public static TamanhoFoto de(String nome) {
+        if (nome == null || nome.isBlank()) {
+            return ORIGINAL;
+        }
+        return valueOf(nome.trim().toUpperCase(Locale.ROOT));
+    }
+}
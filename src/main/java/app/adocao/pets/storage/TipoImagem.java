@@ -0,0 +1,61 @@
+package app.adocao.pets.storage;
+
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Detecta o tipo de uma imagem a partir dos primeiros bytes do conteúdo
+ * (assinatura do formato), sem depender de nome ou extensão de arquivo.
+ */
+public final class TipoImagem {
+
+    static final int TAMANHO_CABECALHO = 12;
+
+    private TipoImagem() {
+    }
+
+    /**
+     * Retorna o tipo da imagem do recurso, ou {@code application/octet-stream}
+     * se o formato não for reconhecido.
+     */
+    public static MediaType detectar(Resource recurso) throws IOException {
+        try (InputStream entrada = recurso.getInputStream()) {
+            return detectar(entrada.readNBytes(TAMANHO_CABECALHO));
+        }
+    }
+
+    /**
+     * Retorna o tipo da imagem cujo conteúdo começa com {@code cabecalho}, ou
+     * {@code application/octet-stream} se o formato não for reconhecido.
+     */
+    public static MediaType detectar(byte[] cabecalho) {
+        if (comecaCom(cabecalho, 0, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (comecaCom(cabecalho, 0, 0x89, 'P', 'N', 'G')) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (comecaCom(cabecalho, 0, 'G', 'I', 'F', '8')) {
+            return MediaType.IMAGE_GIF;
+        }
+        if (comecaCom(cabecalho, 0, 'R', 'I', 'F', 'F') && comecaCom(cabecalho, 8, 'W', 'E', 'B', 'P')) {
+            return MediaType.parseMediaType("image/webp");
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean comecaCom(byte[] dados, int inicio, int... assinatura) {
+        if (dados.length < inicio + assinatura.length) {
+            return false;
+        }
+        for (int i = 0; i < assinatura.length; i++) {
+            if ((dados[inicio + i] & 0xFF) != assinatura[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
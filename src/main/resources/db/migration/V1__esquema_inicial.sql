@@ -0,0 +1,75 @@
+-- Esquema inicial, igual ao que o Hibernate mantinha com ddl-auto=update.
+--
+-- Bancos criados antes das migrações já têm parte (ou todo) o esquema: por isso as
+-- tabelas e sequences só são criadas se não existirem e as colunas incluídas depois da
+-- primeira versão (pet.foto_hash e pet.versao) são adicionadas quando faltarem.
+-- A antiga coluna pet.foto é migrada e removida por FotoMigracao.
+
+create sequence if not exists especie_seq start with 1 increment by 50;
+create sequence if not exists raca_seq start with 1 increment by 50;
+create sequence if not exists adotante_seq start with 1 increment by 50;
+create sequence if not exists pet_seq start with 1 increment by 50;
+create sequence if not exists adocao_seq start with 1 increment by 50;
+create sequence if not exists estatistica_adocao_seq start with 1 increment by 50;
+
+create table if not exists especie (
+    id bigint not null,
+    nome varchar(255) not null,
+    constraint pk_especie primary key (id)
+);
+
+create table if not exists raca (
+    id bigint not null,
+    nome varchar(255) not null,
+    especie_id bigint,
+    constraint pk_raca primary key (id),
+    constraint fk_raca_especie foreign key (especie_id) references especie (id)
+);
+
+create table if not exists adotante (
+    id bigint not null,
+    nome varchar(255) not null,
+    cpf varchar(255),
+    email varchar(255) not null,
+    constraint pk_adotante primary key (id)
+);
+
+create table if not exists pet (
+    id bigint not null,
+    nome varchar(255) not null,
+    raca_id bigint,
+    idade integer not null,
+    foto_hash varchar(64),
+    descricao varchar(255),
+    adotado boolean not null,
+    adotante_id bigint,
+    versao bigint default 0 not null,
+    constraint pk_pet primary key (id),
+    constraint fk_pet_raca foreign key (raca_id) references raca (id),
+    constraint fk_pet_adotante foreign key (adotante_id) references adotante (id)
+);
+
+alter table pet add column if not exists foto_hash varchar(64);
+alter table pet add column if not exists versao bigint default 0 not null;
+
+create table if not exists adocao (
+    id bigint not null,
+    adotante_id bigint not null,
+    pet_id bigint not null,
+    data_adocao date,
+    constraint pk_adocao primary key (id),
+    constraint uk_adocao_pet unique (pet_id),
+    constraint fk_adocao_adotante foreign key (adotante_id) references adotante (id),
+    constraint fk_adocao_pet foreign key (pet_id) references pet (id)
+);
+
+create table if not exists estatistica_adocao (
+    id bigint not null,
+    raca_id bigint not null,
+    ano integer not null,
+    mes integer not null,
+    quantidade bigint not null,
+    constraint pk_estatistica_adocao primary key (id),
+    constraint uk_estatistica_adocao_raca_mes unique (raca_id, ano, mes),
+    constraint fk_estatistica_adocao_raca foreign key (raca_id) references raca (id)
+);
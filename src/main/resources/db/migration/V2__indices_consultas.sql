@@ -0,0 +1,20 @@
+-- Índices das consultas frequentes. Com ddl-auto=update só existiam os declarados em
+-- @Table(indexes) de Pet e Raca; as buscas por adotante, CPF e e-mail liam a tabela
+-- inteira. Os nomes são os mesmos das anotações nas entidades.
+--
+-- O H2 já indexa as colunas de chave estrangeira ao criar a restrição, mas outros
+-- bancos (PostgreSQL, por exemplo) não; (raca_id, id) também atende a ordenação por id.
+
+-- PetRepository.findByAdotadoFalse e paginação por chave (adotado, id)
+create index if not exists idx_pet_adotado_id on pet (adotado, id);
+-- PetRepository.findByRaca e filtro por raça com paginação por chave
+create index if not exists idx_pet_raca_id on pet (raca_id, id);
+-- Filtro por faixa de idade
+create index if not exists idx_pet_idade on pet (idade);
+-- RacaRepository.findByEspecieId / findByEspecie
+create index if not exists idx_raca_especie_id on raca (especie_id);
+-- AdocaoRepository.findByAdotante
+create index if not exists idx_adocao_adotante_id on adocao (adotante_id);
+-- Identificação de adotantes por CPF e e-mail
+create index if not exists idx_adotante_cpf on adotante (cpf);
+create index if not exists idx_adotante_email on adotante (email);
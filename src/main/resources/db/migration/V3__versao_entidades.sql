@@ -0,0 +1,8 @@
+-- Versão (@Version) das demais entidades, como já existia em pet. Além do controle de
+-- concorrência otimista, compõe o ETag das respostas da API (ver controller.Etags):
+-- GET com If-None-Match consulta só estas colunas e PUT com If-Match detecta
+-- alterações perdidas. Registros existentes começam na versão 0.
+alter table especie add column if not exists versao bigint default 0 not null;
+alter table raca add column if not exists versao bigint default 0 not null;
+alter table adotante add column if not exists versao bigint default 0 not null;
+alter table adocao add column if not exists versao bigint default 0 not null;
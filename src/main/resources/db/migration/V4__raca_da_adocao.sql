@@ -0,0 +1,6 @@
+-- Raça do pet no momento da adoção. As estatísticas (estatistica_adocao) contam a adoção
+-- nessa raça; se a raça do pet for alterada depois, a remoção da adoção ainda desconta
+-- a linha certa. Adoções existentes recebem a raça atual do pet.
+alter table adocao add column if not exists raca_id bigint;
+update adocao a set raca_id = (select p.raca_id from pet p where p.id = a.pet_id) where a.raca_id is null;
+alter table adocao add constraint if not exists fk_adocao_raca foreign key (raca_id) references raca (id);
@@ -0,0 +1,70 @@
+package app.adocao.pets.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Cache das páginas de listagem: acertos enquanto os dados não mudam e nova geração
+ * depois de uma escrita pela interface web ou pela API.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:cache-paginas-tests",
+    "pets.fotos.diretorio=${java.io.tmpdir}/pets-fotos-cache-paginas-tests",
+    "pets.busca.diretorio=${java.io.tmpdir}/pets-busca-cache-paginas-tests"
+})
+@AutoConfigureMockMvc
+class CachePaginasFilterTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void paginaEServidaDoCacheAteUmaEscritaNoCatalogo() throws Exception {
+        String primeira = pagina("/especies");
+        double acertos = contagem("/especies", "acerto");
+
+        assertThat(pagina("/especies")).isEqualTo(primeira);
+        assertThat(contagem("/especies", "acerto")).isEqualTo(acertos + 1);
+
+        mockMvc.perform(post("/especies/salvar").param("nome", "Coelho"))
+            .andExpect(status().is3xxRedirection());
+
+        assertThat(pagina("/especies")).contains("Coelho");
+        assertThat(meterRegistry.get("pets.paginas.renderizacao").tag("pagina", "/especies").timer().count())
+            .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void escritaPelaApiInvalidaAPagina() throws Exception {
+        assertThat(pagina("/adotantes")).doesNotContain("Joana");
+
+        mockMvc.perform(multipart("/api/adotantes").param("nome", "Joana").param("email", "joana@exemplo.com"))
+            .andExpect(status().isOk());
+
+        assertThat(pagina("/adotantes")).contains("Joana");
+    }
+
+    private String pagina(String caminho) throws Exception {
+        return mockMvc.perform(get(caminho))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+    }
+
+    private double contagem(String pagina, String resultado) {
+        var contador = meterRegistry.find("pets.paginas.cache").tag("pagina", pagina).tag("resultado", resultado).counter();
+        return contador == null ? 0 : contador.count();
+    }
+}
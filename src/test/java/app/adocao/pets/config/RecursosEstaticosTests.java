@@ -0,0 +1,57 @@
+package app.adocao.pets.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Páginas com o Bootstrap servido pela aplicação, em URLs versionadas pelo conteúdo,
+ * com cache imutável e versão pré-comprimida.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:recursos-estaticos-tests",
+    "pets.fotos.diretorio=${java.io.tmpdir}/pets-fotos-recursos-tests",
+    "pets.busca.diretorio=${java.io.tmpdir}/pets-busca-recursos-tests"
+})
+@AutoConfigureMockMvc
+class RecursosEstaticosTests {
+
+    private static final Pattern CSS_BOOTSTRAP = Pattern.compile("/vendor/bootstrap/css/bootstrap\\.min-[0-9a-f]{32}\\.css");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void paginaUsaBootstrapLocalComUrlVersionada() throws Exception {
+        String pagina = mockMvc.perform(get("/pets"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+
+        assertThat(pagina).doesNotContain("cdn.jsdelivr.net");
+        Matcher css = CSS_BOOTSTRAP.matcher(pagina);
+        assertThat(css.find()).isTrue();
+
+        mockMvc.perform(get(css.group()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+            .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=31536000, public, immutable"));
+    }
+
+    @Test
+    void clienteSemGzipRecebeArquivoOriginal() throws Exception {
+        mockMvc.perform(get("/css/pets.css"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+}
@@ -0,0 +1,149 @@
+package app.adocao.pets.config;
+
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Roteamento entre primário e réplica com dois bancos H2 em memória. A replicação é
+ * simulada copiando o primário para a réplica ({@code SCRIPT}/{@code RUNSCRIPT}); entre
+ * uma cópia e outra a réplica está "atrasada".
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=" + ReplicaLeituraTests.PRIMARIO,
+    "pets.datasource.replica.url=" + ReplicaLeituraTests.REPLICA,
+    "pets.fotos.diretorio=${java.io.tmpdir}/pets-fotos-replica-tests",
+    "pets.busca.diretorio=${java.io.tmpdir}/pets-busca-replica-tests"
+})
+@AutoConfigureMockMvc
+class ReplicaLeituraTests {
+
+    static final String PRIMARIO = "jdbc:h2:mem:primario-replica-tests;DB_CLOSE_DELAY=-1";
+    static final String REPLICA = "jdbc:h2:mem:replica-replica-tests;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        replicar();
+    }
+
+    @Test
+    void leiturasVaoParaAReplicaEEscritasParaOPrimario() throws Exception {
+        MvcResult escrita = mockMvc.perform(multipart("/api/adotantes").param("nome", "Bruna").param("email", "bruna@exemplo.com"))
+            .andExpect(status().isOk())
+            .andReturn();
+        Cookie cookie = escrita.getResponse().getCookie(LeituraAposEscrita.COOKIE);
+        assertThat(cookie).isNotNull();
+        assertThat(cookie.getMaxAge()).isPositive();
+
+        // Réplica atrasada: um cliente que não escreveu ainda não vê a alteração
+        assertThat(listarAdotantes()).doesNotContain("Bruna");
+        // Quem escreveu lê do primário enquanto tiver o cookie
+        assertThat(listarAdotantes(cookie)).contains("Bruna");
+
+        replicar();
+        assertThat(listarAdotantes()).contains("Bruna");
+    }
+
+    @Test
+    void alteracaoComIfMatchConfereAVersaoNoPrimario() throws Exception {
+        Especie especie = new Especie();
+        especie.setNome("Coelho");
+        especieRepository.save(especie);
+        Raca raca = new Raca();
+        raca.setNome("Mini Lop");
+        raca.setEspecie(especie);
+        raca = racaRepository.save(raca);
+        Pet pet = new Pet();
+        pet.setNome("Pipoca");
+        pet.setIdade(1);
+        pet.setRaca(raca);
+        pet = petRepository.save(pet);
+        replicar();
+        String lida = mockMvc.perform(get("/api/pets/{id}", pet.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Cliente sem cookies: a segunda alteração usa o ETag recebido na primeira,
+        // e a réplica continua com a versão anterior a ambas
+        String etag = mockMvc.perform(multipart(HttpMethod.PUT, "/api/pets/{id}", pet.getId())
+                .param("nome", "Pipoca Branca")
+                .header(HttpHeaders.IF_MATCH, lida))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/pets/{id}", pet.getId())
+                .param("idade", "2")
+                .header(HttpHeaders.IF_MATCH, etag))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    void leituraNaoDefineCookie() throws Exception {
+        MvcResult leitura = mockMvc.perform(get("/api/adotantes")).andExpect(status().isOk()).andReturn();
+
+        assertThat(leitura.getResponse().getCookie(LeituraAposEscrita.COOKIE)).isNull();
+    }
+
+    private String listarAdotantes(Cookie... cookies) throws Exception {
+        var requisicao = get("/api/adotantes");
+        if (cookies.length > 0) {
+            requisicao.cookie(cookies);
+        }
+        return mockMvc.perform(requisicao).andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+    }
+
+    private static void replicar() throws Exception {
+        Path copia = Files.createTempFile("replica", ".sql");
+        try (Connection primario = DriverManager.getConnection(PRIMARIO, "sa", "");
+             Connection replica = DriverManager.getConnection(REPLICA, "sa", "")) {
+            executar(primario, "script to '" + copia + "'");
+            executar(replica, "drop all objects");
+            executar(replica, "runscript from '" + copia + "'");
+        } finally {
+            Files.deleteIfExists(copia);
+        }
+    }
+
+    private static void executar(Connection conexao, String sql) throws SQLException {
+        try (Statement statement = conexao.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package app.adocao.pets.controller;
+
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.AdocaoRepository;
+import app.adocao.pets.repository.AdotanteRepository;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.aMapWithSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Modelos de resposta da API de pets e adoções e o parâmetro {@code ?fields=}.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:campos-resposta-tests",
+    "pets.fotos.diretorio=${java.io.tmpdir}/pets-fotos-campos-tests",
+    "pets.busca.diretorio=${java.io.tmpdir}/pets-busca-campos-tests"
+})
+@AutoConfigureMockMvc
+class CamposRespostaTests {
+
+    private static final String HASH = "a".repeat(64);
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private AdotanteRepository adotanteRepository;
+
+    @Autowired
+    private AdocaoRepository adocaoRepository;
+
+    private Pet pet;
+
+    private Adotante adotante;
+
+    @BeforeEach
+    void setUp() {
+        Especie especie = new Especie();
+        especie.setNome("Cachorro");
+        especieRepository.save(especie);
+        Raca raca = new Raca();
+        raca.setNome("Vira-lata");
+        raca.setEspecie(especie);
+        racaRepository.save(raca);
+
+        pet = new Pet();
+        pet.setNome("Rex");
+        pet.setIdade(3);
+        pet.setRaca(raca);
+        pet.setFotoHash(HASH);
+        pet = petRepository.save(pet);
+
+        adotante = new Adotante();
+        adotante.setNome("Ana");
+        adotante.setEmail("ana@exemplo.com");
+        adotante.setCpf("12345678900");
+        adotante = adotanteRepository.save(adotante);
+    }
+
+    @Test
+    void petTrazUrlDaFotoEReferencias() throws Exception {
+        mockMvc.perform(get("/api/pets/{id}", pet.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fotoUrl").value("/pets/foto/" + pet.getId() + "?v=" + HASH))
+            .andExpect(jsonPath("$.fotoHash").doesNotExist())
+            .andExpect(jsonPath("$.raca.nome").value("Vira-lata"))
+            .andExpect(jsonPath("$.raca.especie").doesNotExist())
+            .andExpect(jsonPath("$.especie.nome").value("Cachorro"));
+    }
+
+    @Test
+    void fieldsSelecionaOsCamposDosItensMantendoOEnvelope() throws Exception {
+        mockMvc.perform(get("/api/pets").param("after", String.valueOf(pet.getId() - 1)).param("fields", "nome,fotoUrl"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.limite").value(20))
+            .andExpect(jsonPath("$.itens[0]", aMapWithSize(3)))
+            .andExpect(jsonPath("$.itens[0].id").value(pet.getId()))
+            .andExpect(jsonPath("$.itens[0].nome").value("Rex"))
+            .andExpect(jsonPath("$.itens[0].fotoUrl").exists());
+    }
+
+    @Test
+    void adocaoTrazPetEAdotanteComoReferencias() throws Exception {
+        Adocao adocao = new Adocao();
+        adocao.setPet(pet);
+        adocao.setAdotante(adotante);
+        adocao.setDataAdocao(LocalDate.now());
+        adocao = adocaoRepository.save(adocao);
+
+        mockMvc.perform(get("/api/adocoes/{id}", adocao.getId()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.pet", aMapWithSize(2)))
+            .andExpect(jsonPath("$.pet.nome").value("Rex"))
+            .andExpect(jsonPath("$.adotante", aMapWithSize(2)))
+            .andExpect(jsonPath("$.adotante.nome").value("Ana"));
+
+        mockMvc.perform(get("/api/adocoes").param("fields", "adotante"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$[?(@.id == %d)].adotante.nome", adocao.getId()).value("Ana"))
+            .andExpect(jsonPath("$[?(@.id == %d)].pet", adocao.getId()).isEmpty());
+    }
+}
@@ -0,0 +1,168 @@
+package app.adocao.pets.controller;
+
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.AdotanteRepository;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import app.adocao.pets.service.CatalogoCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.flash;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ETags das respostas da API: 304 com {@code If-None-Match} e 412 com {@code If-Match}
+ * desatualizado. Nos formulários web, a versão desatualizada volta ao formulário de edição.
+ */
+@SpringBootTest(properties = {
+    "spring.datasource.url=jdbc:h2:mem:requisicoes-condicionais-tests",
+    "pets.fotos.diretorio=${java.io.tmpdir}/pets-fotos-condicionais-tests",
+    "pets.busca.diretorio=${java.io.tmpdir}/pets-busca-condicionais-tests"
+})
+@AutoConfigureMockMvc
+class RequisicoesCondicionaisTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private AdotanteRepository adotanteRepository;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    private Raca raca;
+
+    private Pet pet;
+
+    @BeforeEach
+    void setUp() {
+        Especie especie = new Especie();
+        especie.setNome("Gato");
+        especieRepository.save(especie);
+        raca = new Raca();
+        raca.setNome("Siamês");
+        raca.setEspecie(especie);
+        raca = racaRepository.save(raca);
+        catalogoCache.recarregar();
+
+        pet = new Pet();
+        pet.setNome("Mimi");
+        pet.setIdade(2);
+        pet.setRaca(raca);
+        pet = petRepository.save(pet);
+    }
+
+    @Test
+    void petNaoModificadoRespondeSemCorpoAteARacaMudar() throws Exception {
+        String etag = etag("/api/pets/{id}", pet.getId());
+
+        mockMvc.perform(get("/api/pets/{id}", pet.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // O nome da raça faz parte da resposta do pet
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/racas/{id}", raca.getId()).param("nome", "Siamês tradicional"))
+            .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/pets/{id}", pet.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.raca.nome").value("Siamês tradicional"));
+    }
+
+    @Test
+    void racaDoCatalogoRespondeNaoModificada() throws Exception {
+        String etag = etag("/api/racas/{id}", raca.getId());
+
+        mockMvc.perform(get("/api/racas/{id}", raca.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void alteracaoSobreVersaoAntigaEhRejeitada() throws Exception {
+        Adotante adotante = new Adotante();
+        adotante.setNome("Bruno");
+        adotante.setEmail("bruno@exemplo.com");
+        adotante = adotanteRepository.save(adotante);
+        String lida = etag("/api/adotantes/{id}", adotante.getId());
+
+        String nova = mockMvc.perform(multipart(HttpMethod.PUT, "/api/adotantes/{id}", adotante.getId())
+                .param("nome", "Bruno Lima")
+                .header(HttpHeaders.IF_MATCH, lida))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(nova).isNotEqualTo(lida);
+
+        // Segunda alteração feita a partir da mesma leitura: não sobrescreve a primeira
+        mockMvc.perform(multipart(HttpMethod.PUT, "/api/adotantes/{id}", adotante.getId())
+                .param("nome", "Bruno Souza")
+                .header(HttpHeaders.IF_MATCH, lida))
+            .andExpect(status().isPreconditionFailed());
+
+        mockMvc.perform(get("/api/adotantes/{id}", adotante.getId()).header(HttpHeaders.IF_NONE_MATCH, nova))
+            .andExpect(status().isNotModified());
+        assertThat(adotanteRepository.findById(adotante.getId()).orElseThrow().getNome()).isEqualTo("Bruno Lima");
+    }
+
+    @Test
+    void formularioSobreVersaoAntigaVoltaParaAEdicao() throws Exception {
+        Adotante adotante = new Adotante();
+        adotante.setNome("Carla");
+        adotante.setEmail("carla@exemplo.com");
+        adotante = adotanteRepository.save(adotante);
+        Long lida = adotante.getVersao();
+
+        mockMvc.perform(post("/adotantes/salvar")
+                .param("id", adotante.getId().toString())
+                .param("versao", lida.toString())
+                .param("nome", "Carla Dias")
+                .param("email", "carla@exemplo.com"))
+            .andExpect(redirectedUrl("/adotantes"));
+
+        // Segundo envio do mesmo formulário, com a versão lida antes da primeira alteração
+        mockMvc.perform(post("/adotantes/salvar")
+                .param("id", adotante.getId().toString())
+                .param("versao", lida.toString())
+                .param("nome", "Carla Souza")
+                .param("email", "carla@exemplo.com"))
+            .andExpect(redirectedUrl("/adotantes/editar/" + adotante.getId()))
+            .andExpect(flash().attributeExists("erro"));
+
+        assertThat(adotanteRepository.findById(adotante.getId()).orElseThrow().getNome()).isEqualTo("Carla Dias");
+    }
+
+    private String etag(String caminho, Long id) throws Exception {
+        String etag = mockMvc.perform(get(caminho, id))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).isNotNull();
+        return etag;
+    }
+}
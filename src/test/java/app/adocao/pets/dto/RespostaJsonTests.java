@@ -0,0 +1,94 @@
+package app.adocao.pets.dto;
+
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tamanho em bytes das respostas de pets e adoções: os modelos de resposta e o
+ * {@code ?fields=} reduzem o JSON em relação às entidades. Mesmas respostas medidas em
+ * tempo pelo {@code PetJsonBenchmark}.
+ */
+class RespostaJsonTests {
+
+    private static final int TAMANHO_PAGINA = 20;
+
+    private ObjectMapper objectMapper;
+    private Pagina<Pet> pagina;
+    private List<Adocao> adocoes;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().filters(CamposResposta.todos()).build();
+        Adotante adotante = new Adotante();
+        adotante.setId(1L);
+        adotante.setNome("Maria da Silva");
+        adotante.setEmail("maria@exemplo.com");
+        adotante.setCpf("12345678900");
+
+        Especie especie = new Especie();
+        especie.setId(1L);
+        especie.setNome("Cachorro");
+        Raca raca = new Raca();
+        raca.setId(1L);
+        raca.setNome("Vira-lata");
+        raca.setEspecie(especie);
+
+        List<Pet> pets = new ArrayList<>();
+        adocoes = new ArrayList<>();
+        for (long id = 1; id <= TAMANHO_PAGINA; id++) {
+            Pet pet = new Pet();
+            pet.setId(id);
+            pet.setNome("Pet " + id);
+            pet.setIdade((int) (id % 15));
+            pet.setRaca(raca);
+            pet.setDescricao("Cachorro dócil, vacinado e castrado. Convive bem com crianças e outros animais.");
+            pet.setFotoHash("%064x".formatted(id));
+            pet.setVersao(0L);
+            pets.add(pet);
+
+            Adocao adocao = new Adocao();
+            adocao.setId(id);
+            adocao.setPet(pet);
+            adocao.setAdotante(adotante);
+            adocao.setDataAdocao(LocalDate.of(2024, 1, 1));
+            adocoes.add(adocao);
+        }
+        pagina = new Pagina<>(pets, (long) TAMANHO_PAGINA, TAMANHO_PAGINA);
+    }
+
+    @Test
+    void paginaDeRespostasEMenorQueADeEntidades() throws JsonProcessingException {
+        Pagina<PetResposta> respostas = pagina.map(PetResposta::de);
+
+        int entidades = objectMapper.writeValueAsBytes(pagina).length;
+        int modelos = objectMapper.writeValueAsBytes(respostas).length;
+        int campos = objectMapper.writer(CamposResposta.apenas("nome,fotoUrl")).writeValueAsBytes(respostas).length;
+
+        assertThat(modelos).isLessThan(entidades);
+        assertThat(campos).isLessThan(modelos / 2);
+    }
+
+    @Test
+    void adocoesRespostaNaoRepetemPetEAdotante() throws JsonProcessingException {
+        List<AdocaoResposta> respostas = adocoes.stream().map(AdocaoResposta::de).toList();
+
+        int entidades = objectMapper.writeValueAsBytes(adocoes).length;
+        int modelos = objectMapper.writeValueAsBytes(respostas).length;
+
+        assertThat(modelos).isLessThan(entidades / 3);
+    }
+}
@@ -0,0 +1,96 @@
+package app.adocao.pets.repository;
+
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Raca;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que espécies, raças e adotantes são lidos do cache de segundo nível e que
+ * as raças por espécie vêm do cache de consultas até a próxima alteração em {@code raca}.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CacheSegundoNivelTests {
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    @Autowired
+    private AdotanteRepository adotanteRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void entidadesDeReferenciaSaoLidasDoCache() {
+        Especie especie = especie("Cachorro");
+        Raca raca = raca("Labrador", especie);
+        Adotante adotante = new Adotante();
+        adotante.setNome("Ana");
+        adotante.setEmail("ana@exemplo.com");
+        adotanteRepository.save(adotante);
+
+        statistics.clear();
+        for (int i = 0; i < 3; i++) {
+            // Cada chamada usa um novo contexto de persistência
+            Raca carregada = racaRepository.findById(raca.getId()).orElseThrow();
+            assertThat(carregada.getEspecie().getNome()).isEqualTo("Cachorro");
+            assertThat(adotanteRepository.findById(adotante.getId())).isPresent();
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getDomainDataRegionStatistics("raca").getHitCount()).isEqualTo(3);
+        assertThat(statistics.getDomainDataRegionStatistics("especie").getHitCount()).isEqualTo(3);
+        assertThat(statistics.getDomainDataRegionStatistics("adotante").getHitCount()).isEqualTo(3);
+    }
+
+    @Test
+    void racasPorEspecieVemDoCacheDeConsultasAteAProximaAlteracao() {
+        Especie especie = especie("Gato");
+        raca("Siamês", especie);
+
+        statistics.clear();
+        assertThat(racaRepository.findByEspecieId(especie.getId())).hasSize(1);
+        assertThat(racaRepository.findByEspecieId(especie.getId())).hasSize(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+
+        raca("Persa", especie);
+        assertThat(racaRepository.findByEspecieId(especie.getId())).hasSize(2);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+    }
+
+    private Especie especie(String nome) {
+        Especie especie = new Especie();
+        especie.setNome(nome);
+        return especieRepository.save(especie);
+    }
+
+    private Raca raca(String nome, Especie especie) {
+        Raca raca = new Raca();
+        raca.setNome(nome);
+        raca.setEspecie(especie);
+        return racaRepository.save(raca);
+    }
+}
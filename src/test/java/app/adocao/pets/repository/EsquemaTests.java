@@ -0,0 +1,54 @@
+package app.adocao.pets.repository;
+
+import app.adocao.pets.config.RestricaoAdocaoAjuste;
+import app.adocao.pets.config.SequenciaAjuste;
+import app.adocao.pets.storage.FileSystemPhotoStore;
+import app.adocao.pets.storage.FotoMigracao;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica o esquema criado pelas migrações: o Hibernate o valida ao iniciar o contexto
+ * e as consultas dos finders usam os índices em vez de ler a tabela inteira.
+ * As migrações Java (beans {@code JavaMigration}) são importadas, já que o slice JPA não
+ * carrega componentes.
+ */
+@DataJpaTest(properties = "pets.fotos.diretorio=${java.io.tmpdir}/pets-fotos-esquema-tests")
+@Import({FotoMigracao.class, SequenciaAjuste.class, RestricaoAdocaoAjuste.class, FileSystemPhotoStore.class})
+class EsquemaTests {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void todasAsMigracoesSaoAplicadas() {
+        assertThat(flyway.info().pending()).isEmpty();
+        assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("7");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "select id from pet where adotado = false order by id",
+        "select id from pet where raca_id = 1 order by id",
+        "select id from raca where especie_id = 1",
+        "select id from adocao where adotante_id = 1",
+        "select id from adotante where cpf = '00000000000'",
+        "select id from adotante where email = 'a@exemplo.com'"
+    })
+    void consultaUsaIndice(String consulta) {
+        String plano = jdbcTemplate.queryForObject("explain " + consulta, String.class);
+
+        assertThat(plano).doesNotContain("tableScan");
+    }
+}
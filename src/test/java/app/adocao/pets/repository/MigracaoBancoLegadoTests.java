@@ -0,0 +1,165 @@
+package app.adocao.pets.repository;
+
+import app.adocao.pets.config.RestricaoAdocaoAjuste;
+import app.adocao.pets.config.SequenciaAjuste;
+import app.adocao.pets.storage.FileSystemPhotoStore;
+import app.adocao.pets.storage.FotoMigracao;
+import app.adocao.pets.storage.PhotoStore;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.imageio.ImageIO;
+import javax.sql.DataSource;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Aplica as migrações a um banco criado antes do Flyway, com o esquema que o Hibernate
+ * gerava na primeira versão: IDs {@code IDENTITY}, sem sequences e com as fotos na
+ * coluna {@code pet.foto}. Nos bancos novos as migrações V5 ({@link FotoMigracao}),
+ * V6 ({@link SequenciaAjuste}) e V7 ({@link RestricaoAdocaoAjuste}) não alteram nada;
+ * aqui elas movem os dados e renomeiam a restrição de pet único.
+ */
+class MigracaoBancoLegadoTests {
+
+    private static final int TAMANHO_BLOCO = 50;
+
+    @TempDir
+    Path diretorio;
+
+    private PhotoStore photoStore;
+    private DataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        photoStore = new FileSystemPhotoStore(diretorio.resolve("fotos"));
+        dataSource = new DriverManagerDataSource("jdbc:h2:" + diretorio.resolve("legado"), "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+
+        jdbcTemplate.execute("""
+            create table especie (id bigint generated by default as identity, nome varchar(255) not null,
+                primary key (id))""");
+        jdbcTemplate.execute("""
+            create table raca (id bigint generated by default as identity, nome varchar(255) not null,
+                especie_id bigint, primary key (id))""");
+        jdbcTemplate.execute("""
+            create table adotante (id bigint generated by default as identity, nome varchar(255) not null,
+                cpf varchar(255), email varchar(255) not null, primary key (id))""");
+        jdbcTemplate.execute("""
+            create table pet (id bigint generated by default as identity, nome varchar(255) not null,
+                raca_id bigint, idade integer not null, foto blob, descricao varchar(255),
+                adotado boolean not null, adotante_id bigint, primary key (id))""");
+        jdbcTemplate.execute("""
+            create table adocao (id bigint generated by default as identity, adotante_id bigint not null,
+                pet_id bigint not null unique, data_adocao date, primary key (id))""");
+        jdbcTemplate.execute("alter table raca add foreign key (especie_id) references especie");
+        jdbcTemplate.execute("alter table pet add foreign key (raca_id) references raca");
+        jdbcTemplate.execute("alter table pet add foreign key (adotante_id) references adotante");
+        jdbcTemplate.execute("alter table adocao add foreign key (adotante_id) references adotante");
+        jdbcTemplate.execute("alter table adocao add foreign key (pet_id) references pet");
+    }
+
+    @Test
+    void fotosVaoParaOStoreESequencesPassamDoMaiorId() throws IOException {
+        byte[] foto = png(1);
+        byte[] outraFoto = png(2);
+        jdbcTemplate.update("insert into especie (nome) values ('Cachorro')");
+        jdbcTemplate.update("insert into raca (nome, especie_id) values ('Labrador', 1)");
+        jdbcTemplate.update("insert into adotante (nome, email) values ('Ana', 'ana@exemplo.com')");
+        for (int i = 0; i < 70; i++) {
+            jdbcTemplate.update("insert into pet (nome, raca_id, idade, foto, adotado) values (?, 1, 2, ?, false)",
+                "Pet " + i, i % 2 == 0 ? foto : null);
+        }
+        jdbcTemplate.update("update pet set foto = ? where id = 70", (Object) outraFoto);
+        jdbcTemplate.update("update pet set adotado = true, adotante_id = 1 where id = 1");
+        jdbcTemplate.update("insert into adocao (adotante_id, pet_id, data_adocao) values (1, 1, current_date)");
+
+        migrar();
+
+        // V5: cada foto foi para o store, com o hash no pet, e a coluna foi removida
+        assertThat(jdbcTemplate.queryForObject(
+            "select count(*) from information_schema.columns where table_name = 'PET' and column_name = 'FOTO'",
+            Integer.class)).isZero();
+        String hash = jdbcTemplate.queryForObject("select foto_hash from pet where id = 1", String.class);
+        assertThat(hash).isNotNull();
+        assertThat(photoStore.carregar(hash).orElseThrow().getContentAsByteArray()).isEqualTo(foto);
+        String outroHash = jdbcTemplate.queryForObject("select foto_hash from pet where id = 70", String.class);
+        assertThat(photoStore.carregar(outroHash).orElseThrow().getContentAsByteArray()).isEqualTo(outraFoto);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from pet where foto_hash is not null", Integer.class))
+            .isEqualTo(36);
+        assertThat(jdbcTemplate.queryForObject("select count(distinct foto_hash) from pet", Integer.class))
+            .isEqualTo(2);
+
+        // V6: o primeiro bloco obtido de cada sequence começa acima do maior ID
+        for (String tabela : List.of("especie", "raca", "adotante", "pet", "adocao")) {
+            long maiorId = jdbcTemplate.queryForObject("select max(id) from " + tabela, Long.class);
+            long proximo = jdbcTemplate.queryForObject("select next value for " + tabela + "_seq", Long.class);
+            assertThat(proximo - TAMANHO_BLOCO + 1).as(tabela).isGreaterThan(maiorId);
+        }
+    }
+
+    @Test
+    void restricaoDePetUnicoRecebeONomeEsperado() {
+        jdbcTemplate.update("insert into especie (nome) values ('Gato')");
+        jdbcTemplate.update("insert into raca (nome, especie_id) values ('Siamês', 1)");
+        jdbcTemplate.update("insert into adotante (nome, email) values ('Bia', 'bia@exemplo.com')");
+        jdbcTemplate.update("insert into pet (nome, raca_id, idade, adotado) values ('Mimi', 1, 3, true)");
+        jdbcTemplate.update("insert into adocao (adotante_id, pet_id) values (1, 1)");
+        assertThat(restricoesUnicasDeAdocao()).doesNotContain("UK_ADOCAO_PET");
+
+        migrar();
+
+        assertThat(restricoesUnicasDeAdocao()).containsExactly("UK_ADOCAO_PET");
+        // O AdocaoService reconhece a adoção repetida do pet pelo nome da restrição
+        assertThatThrownBy(() -> jdbcTemplate.update(
+                "insert into adocao (id, adotante_id, pet_id, versao) values (2, 1, 1, 0)"))
+            .isInstanceOf(DataIntegrityViolationException.class)
+            .hasMessageContaining("UK_ADOCAO_PET");
+    }
+
+    @Test
+    void bancoLegadoVazioNaoAjustaSequences() {
+        migrar();
+
+        assertThat(jdbcTemplate.queryForObject("select next value for pet_seq", Long.class)).isEqualTo(1);
+    }
+
+    private void migrar() {
+        MigrateResult resultado = Flyway.configure()
+            .dataSource(dataSource)
+            .baselineOnMigrate(true)
+            .baselineVersion("0")
+            .javaMigrations(new FotoMigracao(photoStore), new SequenciaAjuste(), new RestricaoAdocaoAjuste())
+            .load()
+            .migrate();
+        assertThat(resultado.targetSchemaVersion).isEqualTo("7");
+    }
+
+    private List<String> restricoesUnicasDeAdocao() {
+        return jdbcTemplate.queryForList("""
+            select constraint_name from information_schema.table_constraints
+            where table_name = 'ADOCAO' and constraint_type = 'UNIQUE'
+            """, String.class);
+    }
+
+    private static byte[] png(int cor) throws IOException {
+        BufferedImage imagem = new BufferedImage(4, 4, BufferedImage.TYPE_INT_RGB);
+        imagem.setRGB(0, 0, cor);
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "png", saida);
+        return saida.toByteArray();
+    }
+}
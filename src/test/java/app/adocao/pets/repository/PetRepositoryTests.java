@@ -0,0 +1,159 @@
+package app.adocao.pets.repository;
+
+import app.adocao.pets.dto.PetResumo;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica a quantidade de comandos SQL emitidos pelas consultas de listagem de pets
+ * e a paginação por cursor com filtros.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PetRepositoryTests {
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void listarResumosUsaUmaUnicaConsultaIndependenteDaQuantidadeDePets() {
+        criarPets(criarRacas(3), 25);
+
+        statistics.clear();
+        List<PetResumo> resumos = petRepository.listarResumos();
+
+        assertThat(resumos).hasSize(25);
+        assertThat(resumos.get(0).especieNome()).isEqualTo("Espécie 0");
+        assertThat(resumos.get(1).racaNome()).isEqualTo("Raça 1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void findAllNaoConsultaAdocaoParaCadaPet() {
+        Raca[] racas = criarRacas(2);
+
+        criarPets(racas, 5);
+        statistics.clear();
+        assertThat(petRepository.findAll()).hasSize(5);
+        long comandosCincoPets = statistics.getPrepareStatementCount();
+        entityManager.clear();
+
+        criarPets(racas, 20);
+        statistics.clear();
+        assertThat(petRepository.findAll()).hasSize(25);
+        long comandosVinteECincoPets = statistics.getPrepareStatementCount();
+
+        // Sem o enhancement, Pet.adocao gera uma consulta por pet (5 + 1 + 2 vs. 25 + 1 + 2)
+        assertThat(comandosCincoPets).isEqualTo(1 + racas.length);
+        assertThat(comandosVinteECincoPets).isEqualTo(comandosCincoPets);
+    }
+
+    @Test
+    void buscarPaginaPercorreOsPetsFiltradosPorCursor() {
+        Raca[] racas = criarRacas(3);
+        criarPets(racas, 60);
+        List<Pet> todos = petRepository.findAll();
+        for (Pet pet : todos) {
+            if (pet.getId() % 4 == 0) {
+                pet.setAdotado(true);
+            }
+        }
+        petRepository.saveAllAndFlush(todos);
+        entityManager.clear();
+
+        Long especieId = racas[1].getEspecie().getId();
+        List<Long> esperados = todos.stream()
+            .filter(pet -> !pet.isAdotado())
+            .filter(pet -> pet.getRaca().getId().equals(racas[1].getId()))
+            .filter(pet -> pet.getIdade() >= 2 && pet.getIdade() <= 8)
+            .map(Pet::getId)
+            .sorted()
+            .toList();
+        assertThat(esperados).hasSizeGreaterThan(6);
+
+        assertThat(percorrer(false, especieId, null, 2, 8)).isEqualTo(esperados);
+        assertThat(percorrer(false, null, racas[1].getId(), 2, 8)).isEqualTo(esperados);
+        assertThat(percorrer(null, null, null, null, null))
+            .isEqualTo(todos.stream().map(Pet::getId).sorted().toList());
+        assertThat(percorrer(true, especieId, racas[0].getId(), null, null)).isEmpty();
+    }
+
+    /**
+     * Percorre todas as páginas de 3 pets, seguindo o cursor.
+     */
+    private List<Long> percorrer(Boolean adotado, Long especieId, Long racaId, Integer idadeMin, Integer idadeMax) {
+        List<Long> ids = new ArrayList<>();
+        long after = 0;
+        while (true) {
+            List<Pet> pagina = petRepository.buscarPagina(after, adotado, especieId, racaId, idadeMin, idadeMax, Limit.of(3));
+            assertThat(pagina).hasSizeLessThanOrEqualTo(3);
+            pagina.forEach(pet -> ids.add(pet.getId()));
+            if (pagina.size() < 3) {
+                return ids;
+            }
+            after = pagina.get(pagina.size() - 1).getId();
+        }
+    }
+
+    /**
+     * Cria {@code quantidade} raças, cada uma com sua espécie.
+     */
+    private Raca[] criarRacas(int quantidade) {
+        Raca[] criadas = new Raca[quantidade];
+        for (int i = 0; i < quantidade; i++) {
+            Especie especie = new Especie();
+            especie.setNome("Espécie " + i);
+            entityManager.persist(especie);
+
+            Raca raca = new Raca();
+            raca.setNome("Raça " + i);
+            raca.setEspecie(especie);
+            criadas[i] = entityManager.persist(raca);
+        }
+        entityManager.flush();
+        return criadas;
+    }
+
+    /**
+     * Cria {@code quantidade} pets, distribuídos entre as raças informadas.
+     */
+    private void criarPets(Raca[] racas, int quantidade) {
+        for (int i = 0; i < quantidade; i++) {
+            Pet pet = new Pet();
+            pet.setNome("Pet " + i);
+            pet.setIdade(i % 10);
+            pet.setRaca(entityManager.getEntityManager().getReference(Raca.class, racas[i % racas.length].getId()));
+            entityManager.persist(pet);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
@@ -0,0 +1,197 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.AdocaoRepository;
+import app.adocao.pets.repository.AdotanteRepository;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Teste de estresse do registro de adoções: milhares de requisições concorrentes
+ * disputam um conjunto pequeno de pets. Cada pet deve ser adotado exatamente uma vez,
+ * e todas as demais tentativas devem terminar em {@link AdocaoConflitoException}.
+ * Violações de integridade que não sejam da restrição única do pet não são repetidas.
+ */
+@DataJpaTest
+@Import({AdocaoService.class, EstatisticaAdocaoService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AdocaoConcorrenciaTests {
+
+    private static final int PETS = 20;
+    private static final int ADOTANTES = 50;
+    private static final int TENTATIVAS = 4000;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private AdocaoService adocaoService;
+
+    @Autowired
+    private EstatisticaAdocaoService estatisticaAdocaoService;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private AdotanteRepository adotanteRepository;
+
+    @MockitoSpyBean
+    private AdocaoRepository adocaoRepository;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    @Test
+    void adocoesConcorrentesRegistramCadaPetUmaUnicaVez() throws InterruptedException {
+        List<Long> pets = criarPets();
+        List<Long> adotantes = criarAdotantes();
+        long adocoesAntes = estatisticaAdocaoService.consultar().total();
+        long registrosAntes = adocaoRepository.count();
+        double registradasAntes = contador("registrada");
+        double conflitosAntes = contador("conflito");
+
+        AtomicInteger sucessos = new AtomicInteger();
+        AtomicInteger conflitos = new AtomicInteger();
+        List<Throwable> erros = new ArrayList<>();
+        ConcurrentHashMap<Long, Long> adotantePorPet = new ConcurrentHashMap<>();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        CountDownLatch fim = new CountDownLatch(TENTATIVAS);
+        for (int i = 0; i < TENTATIVAS; i++) {
+            Long petId = pets.get(i % PETS);
+            Long adotanteId = adotantes.get(i % ADOTANTES);
+            executor.execute(() -> {
+                try {
+                    largada.await();
+                    adocaoService.registrarAdocao(petId, adotanteId);
+                    sucessos.incrementAndGet();
+                    adotantePorPet.merge(petId, adotanteId, (a, b) -> -1L);
+                } catch (AdocaoConflitoException e) {
+                    conflitos.incrementAndGet();
+                } catch (Throwable e) {
+                    synchronized (erros) {
+                        erros.add(e);
+                    }
+                } finally {
+                    fim.countDown();
+                }
+            });
+        }
+
+        largada.countDown();
+        assertThat(fim.await(2, TimeUnit.MINUTES)).isTrue();
+        executor.shutdown();
+
+        assertThat(erros).isEmpty();
+        assertThat(sucessos.get()).isEqualTo(PETS);
+        assertThat(conflitos.get()).isEqualTo(TENTATIVAS - PETS);
+        assertThat(adotantePorPet).hasSize(PETS).doesNotContainValue(-1L);
+        assertThat(adocaoRepository.count()).isEqualTo(registrosAntes + PETS);
+        assertThat(petRepository.findAllById(pets)).allMatch(Pet::isAdotado);
+        // Todos os pets têm a mesma raça: as adoções disputam a mesma linha de estatísticas
+        assertThat(estatisticaAdocaoService.consultar().total()).isEqualTo(adocoesAntes + PETS);
+        assertThat(contador("registrada")).isEqualTo(registradasAntes + PETS);
+        assertThat(contador("conflito")).isEqualTo(conflitosAntes + TENTATIVAS - PETS);
+    }
+
+    @Test
+    void adocaoJaGravadaParaOPetEConflito() {
+        Long petId = criarPets().get(0);
+        Long adotanteId = criarAdotantes().get(0);
+
+        // Adoção gravada sem marcar o pet: a nova tentativa viola uk_adocao_pet
+        Adocao existente = new Adocao();
+        existente.setPet(petRepository.findById(petId).orElseThrow());
+        existente.setAdotante(adotanteRepository.findById(adotanteId).orElseThrow());
+        existente.setDataAdocao(LocalDate.now());
+        adocaoRepository.save(existente);
+
+        assertThatThrownBy(() -> adocaoService.registrarAdocao(petId, adotanteId))
+            .isInstanceOf(AdocaoConflitoException.class)
+            .hasCauseInstanceOf(DataIntegrityViolationException.class);
+    }
+
+    @Test
+    void outraViolacaoDeIntegridadeNaoERepetida() {
+        Long petId = criarPets().get(0);
+        Long adotanteId = criarAdotantes().get(0);
+        DataIntegrityViolationException violacao = new DataIntegrityViolationException("fk_adocao_adotante");
+        doThrow(violacao).when(adocaoRepository).saveAndFlush(any());
+
+        assertThatThrownBy(() -> adocaoService.registrarAdocao(petId, adotanteId)).isSameAs(violacao);
+        verify(adocaoRepository, times(1)).saveAndFlush(any());
+        assertThat(petRepository.findById(petId).orElseThrow().isAdotado()).isFalse();
+    }
+
+    private double contador(String resultado) {
+        return meterRegistry.get("pets.adocoes").tag("resultado", resultado).counter().count();
+    }
+
+    private List<Long> criarPets() {
+        Especie especie = new Especie();
+        especie.setNome("Cachorro");
+        especieRepository.save(especie);
+        Raca raca = new Raca();
+        raca.setNome("SRD");
+        raca.setEspecie(especie);
+        racaRepository.save(raca);
+
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < PETS; i++) {
+            Pet pet = new Pet();
+            pet.setNome("Pet " + i);
+            pet.setRaca(raca);
+            ids.add(petRepository.save(pet).getId());
+        }
+        return ids;
+    }
+
+    private List<Long> criarAdotantes() {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ADOTANTES; i++) {
+            Adotante adotante = new Adotante();
+            adotante.setNome("Adotante " + i);
+            adotante.setEmail("adotante" + i + "@exemplo.com");
+            ids.add(adotanteRepository.save(adotante).getId());
+        }
+        return ids;
+    }
+}
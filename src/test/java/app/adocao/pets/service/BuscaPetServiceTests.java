@@ -0,0 +1,162 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.EventoPet;
+import app.adocao.pets.dto.PetResumo;
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doAnswer;
+
+/**
+ * Verifica a análise em português (acentos, plurais) e a ordenação por relevância
+ * da busca textual de pets.
+ */
+@DataJpaTest(properties = "pets.busca.diretorio=${java.io.tmpdir}/pets-busca-tests")
+@Import({BuscaPetService.class, CatalogoCache.class, VersaoDados.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BuscaPetServiceTests {
+
+    @Autowired
+    private BuscaPetService buscaPetService;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @MockitoSpyBean
+    private PetRepository petRepository;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    private Pet rex;
+    private Pet mia;
+    private Pet tobias;
+
+    @BeforeEach
+    void setUp() {
+        petRepository.deleteAll();
+        racaRepository.deleteAll();
+        especieRepository.deleteAll();
+
+        Raca viraLata = criarRaca("Cachorro", "Vira-lata");
+        Raca siames = criarRaca("Gato", "Siamês");
+        catalogoCache.recarregar();
+
+        rex = criarPet("Rex", viraLata, "Filhote muito dócil e brincalhão");
+        mia = criarPet("Mia", siames, "Gata calma, gosta de colo");
+        tobias = criarPet("Tobias", viraLata, "Adulto, dócil com crianças. Veio de um abrigo de filhotes");
+        buscaPetService.reindexar();
+    }
+
+    @Test
+    void buscaIgnoraAcentosEPlurais() {
+        assertThat(buscaPetService.buscar("docil", 10)).containsExactlyInAnyOrder(rex.getId(), tobias.getId());
+        assertThat(buscaPetService.buscar("FILHOTES", 10)).containsExactlyInAnyOrder(rex.getId(), tobias.getId());
+        assertThat(buscaPetService.buscar("siames", 10)).containsExactly(mia.getId());
+        assertThat(buscaPetService.buscar("vira-lata", 10)).containsExactlyInAnyOrder(rex.getId(), tobias.getId());
+    }
+
+    @Test
+    void todosOsTermosSaoObrigatoriosEResultadosSaoOrdenadosPorRelevancia() {
+        assertThat(buscaPetService.buscar("filhote brincalhão", 10)).containsExactly(rex.getId());
+        // A descrição curta de Rex concentra os termos, e Tobias vem depois
+        assertThat(buscaPetService.buscar("cachorro dócil", 10)).containsExactly(rex.getId(), tobias.getId());
+        assertThat(buscaPetService.buscar("gato -siames", 10)).isEmpty();
+        assertThat(buscaPetService.buscar("\"dócil com crianças\"", 10)).containsExactly(tobias.getId());
+    }
+
+    @Test
+    void indiceAcompanhaPetsGravadosERemovidos() {
+        Pet bolt = criarPet("Bolt", rex.getRaca(), "Filhote agitado");
+        buscaPetService.indexar(bolt);
+        assertThat(buscaPetService.buscar("agitado", 10)).containsExactly(bolt.getId());
+
+        bolt.setDescricao("Tranquilo");
+        bolt = petRepository.save(bolt);
+        buscaPetService.indexar(bolt);
+        assertThat(buscaPetService.buscar("agitado", 10)).isEmpty();
+        assertThat(buscaPetService.buscar("tranquilo", 10)).containsExactly(bolt.getId());
+
+        petRepository.delete(bolt);
+        buscaPetService.remover(bolt.getId());
+        assertThat(buscaPetService.buscar("bolt", 10)).isEmpty();
+    }
+
+    @Test
+    void buscaDeDisponiveisAcompanhaAsAdocoes() {
+        rex.setAdotado(true);
+        Adocao adocao = new Adocao();
+        adocao.setPet(rex);
+        buscaPetService.adocaoAlterada(EventoPet.adocaoRegistrada(adocao));
+
+        assertThat(buscaPetService.buscarDisponiveis("docil", 10)).containsExactly(tobias.getId());
+        assertThat(buscaPetService.buscar("docil", 10)).containsExactlyInAnyOrder(rex.getId(), tobias.getId());
+
+        rex.setAdotado(false);
+        buscaPetService.adocaoAlterada(EventoPet.adocaoRemovida(adocao, rex));
+        assertThat(buscaPetService.buscarDisponiveis("docil", 10)).containsExactlyInAnyOrder(rex.getId(), tobias.getId());
+    }
+
+    @Test
+    void petIndexadoDuranteAReconstrucaoNaoSePerde() throws Exception {
+        List<PetResumo> resumos = petRepository.listarResumos();
+        CompletableFuture<Void> indexacao = new CompletableFuture<>();
+        doAnswer(invocacao -> {
+            // Pet gravado e indexado depois da leitura da tabela pela reconstrução
+            Pet bolt = criarPet("Bolt", rex.getRaca(), "Filhote agitado");
+            CompletableFuture.runAsync(() -> buscaPetService.indexar(bolt))
+                .whenComplete((resultado, erro) -> indexacao.complete(null));
+            try {
+                indexacao.get(500, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Esperado: a indexação aguarda o fim da reconstrução
+            }
+            return resumos;
+        }).when(petRepository).listarResumos();
+
+        buscaPetService.reindexar();
+        indexacao.get(10, TimeUnit.SECONDS);
+
+        assertThat(buscaPetService.buscar("agitado", 10)).hasSize(1);
+        assertThat(buscaPetService.buscar("docil", 10)).containsExactlyInAnyOrder(rex.getId(), tobias.getId());
+    }
+
+    private Raca criarRaca(String nomeEspecie, String nomeRaca) {
+        Especie especie = new Especie();
+        especie.setNome(nomeEspecie);
+        Raca raca = new Raca();
+        raca.setNome(nomeRaca);
+        raca.setEspecie(especieRepository.save(especie));
+        return racaRepository.save(raca);
+    }
+
+    private Pet criarPet(String nome, Raca raca, String descricao) {
+        Pet pet = new Pet();
+        pet.setNome(nome);
+        pet.setRaca(raca);
+        pet.setDescricao(descricao);
+        return petRepository.save(pet);
+    }
+}
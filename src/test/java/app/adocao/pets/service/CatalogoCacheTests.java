@@ -0,0 +1,131 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica que o snapshot do catálogo acompanha as escritas só em
+ * {@link CatalogoCache#recarregar()}, que as leituras não acessam o banco e que a
+ * versão do catálogo é incrementada a cada recarga.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({CatalogoCache.class, VersaoDados.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CatalogoCacheTests {
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private VersaoDados versaoDados;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Especie cachorro;
+    private Raca labrador;
+
+    @BeforeEach
+    void setUp() {
+        petRepository.deleteAll();
+        racaRepository.deleteAll();
+        especieRepository.deleteAll();
+
+        cachorro = criarEspecie("Cachorro");
+        labrador = criarRaca("Labrador", cachorro);
+        catalogoCache.recarregar();
+    }
+
+    @Test
+    void recarregarIncluiRacasNovasEAlteracoes() {
+        Especie gato = criarEspecie("Gato");
+        Raca siames = criarRaca("Siamês", gato);
+        cachorro.setNome("Cão");
+        cachorro = especieRepository.save(cachorro);
+
+        // Até a recarga, o snapshot anterior continua sendo servido
+        assertThat(catalogoCache.buscarRaca(siames.getId())).isEmpty();
+        assertThat(catalogoCache.buscarEspecie(cachorro.getId()).orElseThrow().getNome()).isEqualTo("Cachorro");
+
+        catalogoCache.recarregar();
+
+        assertThat(catalogoCache.listarEspecies()).extracting(Especie::getNome).containsExactlyInAnyOrder("Cão", "Gato");
+        assertThat(catalogoCache.listarRacas()).extracting(Raca::getNome).containsExactlyInAnyOrder("Labrador", "Siamês");
+        assertThat(catalogoCache.listarRacasPorEspecie(gato.getId())).extracting(Raca::getId).containsExactly(siames.getId());
+        Raca labradorCache = catalogoCache.buscarRaca(labrador.getId()).orElseThrow();
+        assertThat(labradorCache.getEspecie().getNome()).isEqualTo("Cão");
+        assertThat(labradorCache.getVersao()).isEqualTo(labrador.getVersao());
+    }
+
+    @Test
+    void recarregarRemoveRacasExcluidas() {
+        racaRepository.delete(labrador);
+        catalogoCache.recarregar();
+
+        assertThat(catalogoCache.buscarRaca(labrador.getId())).isEmpty();
+        assertThat(catalogoCache.listarRacasPorEspecie(cachorro.getId())).isEmpty();
+        assertThat(catalogoCache.buscarEspecie(cachorro.getId())).isPresent();
+    }
+
+    @Test
+    void leiturasNaoAcessamOBanco() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(catalogoCache.listarEspecies()).hasSize(1);
+            assertThat(catalogoCache.buscarEspecie(cachorro.getId())).isPresent();
+            assertThat(catalogoCache.listarRacas()).hasSize(1);
+            assertThat(catalogoCache.buscarRaca(labrador.getId())).isPresent();
+            assertThat(catalogoCache.listarRacasPorEspecie(cachorro.getId())).hasSize(1);
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void recarregarIncrementaAVersaoDoCatalogo() {
+        long antes = versaoDados.versao(VersaoDados.Conjunto.CATALOGO).numero();
+
+        catalogoCache.recarregar();
+
+        assertThat(versaoDados.versao(VersaoDados.Conjunto.CATALOGO).numero()).isEqualTo(antes + 1);
+    }
+
+    private Especie criarEspecie(String nome) {
+        Especie especie = new Especie();
+        especie.setNome(nome);
+        return especieRepository.save(especie);
+    }
+
+    private Raca criarRaca(String nome, Especie especie) {
+        Raca raca = new Raca();
+        raca.setNome(nome);
+        raca.setEspecie(especie);
+        return racaRepository.save(raca);
+    }
+}
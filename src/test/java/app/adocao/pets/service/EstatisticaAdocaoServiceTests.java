@@ -0,0 +1,176 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.Contagem;
+import app.adocao.pets.dto.EstatisticasAdocao;
+import app.adocao.pets.model.Adocao;
+import app.adocao.pets.model.Adotante;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.AdocaoRepository;
+import app.adocao.pets.repository.AdotanteRepository;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.EstatisticaAdocaoRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Verifica que as estatísticas acompanham o registro e a remoção de adoções e que a
+ * reconstrução a partir das adoções chega aos mesmos totais.
+ */
+@DataJpaTest
+@Import({AdocaoService.class, EstatisticaAdocaoService.class, SimpleMeterRegistry.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EstatisticaAdocaoServiceTests {
+
+    @Autowired
+    private AdocaoService adocaoService;
+
+    @Autowired
+    private EstatisticaAdocaoService estatisticaAdocaoService;
+
+    @Autowired
+    private EstatisticaAdocaoRepository estatisticaRepository;
+
+    @Autowired
+    private AdocaoRepository adocaoRepository;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private AdotanteRepository adotanteRepository;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    private Raca labrador;
+    private Raca poodle;
+    private Raca siames;
+    private Adotante adotante;
+
+    @BeforeEach
+    void criarCatalogo() {
+        estatisticaRepository.deleteAllInBatch();
+        adocaoRepository.deleteAllInBatch();
+        petRepository.deleteAllInBatch();
+
+        Especie cachorro = especie("Cachorro");
+        Especie gato = especie("Gato");
+        labrador = raca("Labrador", cachorro);
+        poodle = raca("Poodle", cachorro);
+        siames = raca("Siamês", gato);
+
+        adotante = new Adotante();
+        adotante.setNome("Ana");
+        adotante.setEmail("ana@exemplo.com");
+        adotanteRepository.save(adotante);
+    }
+
+    @Test
+    void registroERemocaoAtualizamOsTotais() {
+        Adocao primeira = adotar(labrador);
+        adotar(labrador);
+        adotar(poodle);
+        adotar(siames);
+
+        EstatisticasAdocao estatisticas = estatisticaAdocaoService.consultar();
+        assertThat(estatisticas.total()).isEqualTo(4);
+        assertThat(estatisticas.porEspecie()).extracting(Contagem::nome, Contagem::quantidade)
+            .containsExactly(tuple("Cachorro", 3L), tuple("Gato", 1L));
+        assertThat(estatisticas.porRaca()).extracting(Contagem::nome, Contagem::quantidade)
+            .containsExactly(tuple("Labrador", 2L), tuple("Poodle", 1L), tuple("Siamês", 1L));
+        assertThat(estatisticas.porMes()).containsExactly(new EstatisticasAdocao.Mensal(YearMonth.now(), 4));
+
+        adocaoService.deletarAdocao(primeira.getId());
+        Adocao poodleAdotado = adocaoRepository.findAll().stream()
+            .filter(adocao -> adocao.getPet().getRaca().getId().equals(poodle.getId()))
+            .findFirst().orElseThrow();
+        adocaoService.deletarPet(poodleAdotado.getPet().getId());
+
+        estatisticas = estatisticaAdocaoService.consultar();
+        assertThat(estatisticas.total()).isEqualTo(2);
+        assertThat(estatisticas.porRaca()).extracting(Contagem::nome, Contagem::quantidade)
+            .containsExactly(tuple("Labrador", 1L), tuple("Siamês", 1L));
+        // A linha do Poodle ficou sem adoções e foi removida
+        assertThat(estatisticaRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void remocaoDescontaARacaDaAdocaoMesmoSeOPetMudouDeRaca() {
+        Adocao adocao = adotar(labrador);
+        adotar(poodle);
+
+        // A raça do pet adotado é corrigida depois da adoção
+        Pet pet = petRepository.findById(adocao.getPet().getId()).orElseThrow();
+        pet.setRaca(poodle);
+        petRepository.save(pet);
+
+        adocaoService.deletarAdocao(adocao.getId());
+
+        assertThat(estatisticaAdocaoService.consultar().porRaca()).extracting(Contagem::nome, Contagem::quantidade)
+            .containsExactly(tuple("Poodle", 1L));
+        assertThat(estatisticaAdocaoService.reconstruir()).isEqualTo(1);
+        assertThat(estatisticaAdocaoService.consultar().porRaca()).extracting(Contagem::nome, Contagem::quantidade)
+            .containsExactly(tuple("Poodle", 1L));
+    }
+
+    @Test
+    void reconstrucaoRecuperaTotaisAPartirDasAdocoes() {
+        adotar(labrador);
+        adotar(siames);
+        Adocao antiga = adotar(poodle);
+        antiga.setDataAdocao(LocalDate.of(2024, 12, 25));
+        adocaoRepository.save(antiga);
+
+        // Simula estatísticas perdidas ou divergentes
+        estatisticaRepository.deleteAllInBatch();
+        assertThat(estatisticaAdocaoService.consultar().total()).isZero();
+
+        assertThat(estatisticaAdocaoService.reconstruir()).isEqualTo(3);
+
+        EstatisticasAdocao estatisticas = estatisticaAdocaoService.consultar();
+        assertThat(estatisticas.total()).isEqualTo(3);
+        assertThat(estatisticas.porMes()).containsExactly(
+            new EstatisticasAdocao.Mensal(YearMonth.of(2024, 12), 1),
+            new EstatisticasAdocao.Mensal(YearMonth.now(), 2));
+    }
+
+    private Adocao adotar(Raca raca) {
+        Pet pet = new Pet();
+        pet.setNome("Pet");
+        pet.setRaca(raca);
+        petRepository.save(pet);
+        return adocaoService.registrarAdocao(pet.getId(), adotante.getId());
+    }
+
+    private Especie especie(String nome) {
+        Especie especie = new Especie();
+        especie.setNome(nome);
+        return especieRepository.save(especie);
+    }
+
+    private Raca raca(String nome, Especie especie) {
+        Raca raca = new Raca();
+        raca.setNome(nome);
+        raca.setEspecie(especie);
+        return racaRepository.save(raca);
+    }
+}
@@ -0,0 +1,115 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.config.EventoConfig;
+import app.adocao.pets.dto.EventoPet;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica a entrega dos eventos apenas após o commit, a retomada a partir do
+ * buffer circular com {@code Last-Event-ID} e o descarte de clientes atrasados.
+ */
+@DataJpaTest(properties = "pets.eventos.capacidade=3")
+@Import({EventoPetService.class, EventoConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventoPetServiceTests {
+
+    @Autowired
+    private EventoPetService eventoPetService;
+
+    @Autowired
+    private ApplicationEventPublisher eventos;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void eventoSoEEntregueAposCommit() {
+        long antes = ultimoId();
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+
+        transacao.executeWithoutResult(status -> {
+            eventos.publishEvent(EventoPet.petRemovido(1L));
+            status.setRollbackOnly();
+        });
+        assertThat(eventoPetService.eventosApos(antes)).contains(List.of());
+
+        transacao.executeWithoutResult(status -> {
+            eventos.publishEvent(EventoPet.petRemovido(2L));
+            assertThat(eventoPetService.eventosApos(antes)).contains(List.of());
+        });
+        assertThat(eventoPetService.eventosApos(antes).orElseThrow())
+            .extracting(registro -> registro.evento().petId())
+            .containsExactly(2L);
+    }
+
+    @Test
+    void retomaApenasEnquantoOsEventosEstaoNoBuffer() {
+        long antes = ultimoId();
+        for (long petId = 1; petId <= 5; petId++) {
+            eventos.publishEvent(EventoPet.petRemovido(petId));
+        }
+
+        assertThat(eventoPetService.eventosApos(antes + 2).orElseThrow())
+            .extracting(EventoPetService.Registro::id)
+            .containsExactly(antes + 3, antes + 4, antes + 5);
+        assertThat(eventoPetService.eventosApos(antes + 5)).contains(List.of());
+        // Eventos já sobrescritos no buffer, ou id de outra execução do servidor
+        assertThat(eventoPetService.eventosApos(antes + 1)).isEmpty();
+        assertThat(eventoPetService.eventosApos(antes + 6)).isEmpty();
+    }
+
+    @Test
+    void clienteQueNaoAcompanhaEDesconectadoSemBloquearAPublicacao() {
+        // Executor que nunca roda as tarefas: os eventos ficam pendentes, como numa conexão parada
+        List<Runnable> tarefas = new ArrayList<>();
+        EventoPetService servico = new EventoPetService(10, Duration.ofMinutes(1), 2, tarefas::add);
+        servico.inscrever(null);
+
+        servico.publicar(EventoPet.petRemovido(1L));
+        servico.publicar(EventoPet.petRemovido(2L));
+        assertThat(servico.getClientes()).isEqualTo(1);
+        assertThat(tarefas).hasSize(1);
+
+        servico.publicar(EventoPet.petRemovido(3L));
+        assertThat(servico.getClientes()).isZero();
+        // Os eventos continuam no buffer para a retomada
+        assertThat(servico.eventosApos(0)).hasValueSatisfying(eventos -> assertThat(eventos).hasSize(3));
+    }
+
+    @Test
+    void idDeOutraExecucaoDoServidorPedeReinicio() {
+        EventoPetService anterior = new EventoPetService(10, Duration.ofMinutes(1), 100, Runnable::run);
+        anterior.publicar(EventoPet.petRemovido(1L));
+        String idAnterior = anterior.idEvento(1);
+        assertThat(anterior.eventosApos(idAnterior)).contains(List.of());
+
+        // Depois do reinício a sequência recomeça e já passou do id que o cliente guardou
+        EventoPetService reiniciado = new EventoPetService(10, Duration.ofMinutes(1), 100, Runnable::run);
+        reiniciado.publicar(EventoPet.petRemovido(2L));
+        reiniciado.publicar(EventoPet.petRemovido(3L));
+
+        assertThat(reiniciado.eventosApos(idAnterior)).isEmpty();
+        assertThat(reiniciado.eventosApos("1")).isEmpty();
+        assertThat(reiniciado.eventosApos(reiniciado.idEvento(1)).orElseThrow())
+            .extracting(registro -> registro.evento().petId())
+            .containsExactly(3L);
+    }
+
+    private long ultimoId() {
+        return eventoPetService.getUltimoId();
+    }
+}
@@ -0,0 +1,146 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.storage.FileSystemPhotoStore;
+import app.adocao.pets.storage.FotoInvalidaException;
+import app.adocao.pets.storage.PhotoStore;
+import app.adocao.pets.storage.TamanhoFoto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.Resource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Mede os bytes servidos por uma página da lista de pets antes (foto original em
+ * cada linha) e depois (miniatura {@code thumb}) do pipeline de derivadas, além do
+ * limite de pixels e da geração única de cada derivada.
+ */
+class FotoDerivadaServiceTests {
+
+    private static final int PETS_POR_PAGINA = 20;
+
+    private static final long PIXELS_MAXIMO = 50_000_000;
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void miniaturaReduzBytesServidosPorPaginaDaLista() throws IOException {
+        PhotoStore photoStore = new FileSystemPhotoStore(diretorio);
+        FotoDerivadaService service = new FotoDerivadaService(photoStore, Runnable::run, PIXELS_MAXIMO);
+
+        List<String> hashes = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < PETS_POR_PAGINA; i++) {
+            hashes.add(photoStore.salvar(fotoDeCelular(random)));
+        }
+
+        long bytesOriginais = 0;
+        long bytesMiniaturas = 0;
+        for (String hash : hashes) {
+            bytesOriginais += service.carregar(hash, TamanhoFoto.ORIGINAL).orElseThrow().contentLength();
+            Resource miniatura = service.carregar(hash, TamanhoFoto.THUMB).orElseThrow();
+            bytesMiniaturas += miniatura.contentLength();
+
+            BufferedImage imagem = ImageIO.read(miniatura.getInputStream());
+            assertThat(Math.max(imagem.getWidth(), imagem.getHeight())).isEqualTo(TamanhoFoto.THUMB.getLadoMaximo());
+        }
+
+        double reducao = (double) bytesOriginais / bytesMiniaturas;
+        assertThat(reducao).isGreaterThan(10);
+    }
+
+    @Test
+    void derivadaAusenteEGeradaSobDemanda() throws IOException {
+        PhotoStore photoStore = new FileSystemPhotoStore(diretorio);
+        FotoDerivadaService service = new FotoDerivadaService(photoStore, tarefa -> { }, PIXELS_MAXIMO);
+
+        String hash = photoStore.salvar(fotoDeCelular(new Random(7)));
+        service.agendar(hash);
+        assertThat(photoStore.carregarDerivada(hash, TamanhoFoto.CARD)).isEmpty();
+
+        assertThat(service.carregar(hash, TamanhoFoto.CARD)).isPresent();
+        assertThat(photoStore.carregarDerivada(hash, TamanhoFoto.CARD)).isPresent();
+    }
+
+    @Test
+    void fotoAcimaDoLimiteDePixelsNaoEDecodificada() throws IOException {
+        PhotoStore photoStore = new FileSystemPhotoStore(diretorio);
+        FotoDerivadaService service = new FotoDerivadaService(photoStore, Runnable::run, 1_000_000);
+
+        // 1600x1200 = 1,92 milhão de pixels
+        String hash = photoStore.salvar(fotoDeCelular(new Random(3)));
+
+        assertThatThrownBy(() -> service.carregar(hash, TamanhoFoto.THUMB))
+            .isInstanceOf(FotoInvalidaException.class);
+        assertThat(photoStore.carregarDerivada(hash, TamanhoFoto.THUMB)).isEmpty();
+        assertThat(service.carregar(hash, TamanhoFoto.ORIGINAL)).isPresent();
+    }
+
+    @Test
+    void derivadaSolicitadaSimultaneamenteEGeradaUmaVez() throws Exception {
+        PhotoStore photoStore = spy(new FileSystemPhotoStore(diretorio));
+        FotoDerivadaService service = new FotoDerivadaService(photoStore, tarefa -> { }, PIXELS_MAXIMO);
+        String hash = photoStore.salvar(fotoDeCelular(new Random(11)));
+
+        int threads = 8;
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Optional<Resource>>> resultados = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                resultados.add(executor.submit(() -> {
+                    largada.await();
+                    return service.carregar(hash, TamanhoFoto.FULL);
+                }));
+            }
+            largada.countDown();
+            for (Future<Optional<Resource>> resultado : resultados) {
+                assertThat(resultado.get(30, TimeUnit.SECONDS)).isPresent();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        verify(photoStore, times(1)).salvarDerivada(eq(hash), eq(TamanhoFoto.FULL), any());
+    }
+
+    /**
+     * Gera um JPEG de 1600x1200 com ruído, aproximando o tamanho de uma foto de celular.
+     */
+    private static byte[] fotoDeCelular(Random random) throws IOException {
+        BufferedImage imagem = new BufferedImage(1600, 1200, BufferedImage.TYPE_INT_RGB);
+        for (int y = 0; y < imagem.getHeight(); y++) {
+            for (int x = 0; x < imagem.getWidth(); x++) {
+                int base = (x + y) / 12;
+                imagem.setRGB(x, y, ((base + random.nextInt(64)) & 0xFF) << 16
+                        | ((base * 2 + random.nextInt(64)) & 0xFF) << 8
+                        | (random.nextInt(256)));
+            }
+        }
+        ByteArrayOutputStream saida = new ByteArrayOutputStream();
+        ImageIO.write(imagem, "jpeg", saida);
+        return saida.toByteArray();
+    }
+}
@@ -0,0 +1,133 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.config.FotoConfig;
+import app.adocao.pets.dto.ResultadoImportacao;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import app.adocao.pets.storage.FileSystemPhotoStore;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Verifica a importação em lote: registros inválidos são rejeitados individualmente e
+ * os INSERTs dos válidos são agrupados em batches JDBC.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "pets.fotos.diretorio=${java.io.tmpdir}/pets-fotos-importacao-tests",
+    "pets.busca.diretorio=${java.io.tmpdir}/pets-busca-importacao-tests"
+})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Import({ImportacaoPetService.class, CatalogoCache.class, VersaoDados.class, FotoDerivadaService.class, BuscaPetService.class,
+    FileSystemPhotoStore.class, FotoConfig.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ImportacaoPetServiceTests {
+
+    private static final int REGISTROS = 500;
+
+    @Autowired
+    private ImportacaoPetService importacaoPetService;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void importacaoCsvAgrupaInsertsERejeitaLinhasInvalidas() throws IOException {
+        Raca raca = criarRaca();
+        StringBuilder csv = new StringBuilder("nome,idade,racaId,descricao\n");
+        for (int i = 0; i < REGISTROS; i++) {
+            csv.append("Pet ").append(i).append(',').append(i % 15).append(',').append(raca.getId())
+               .append(",\"Dócil, vacinado e \"\"castrado\"\"\"\n");
+        }
+        csv.append("Sem raça,2,999999,x\n");
+        csv.append(",3,").append(raca.getId()).append(",sem nome\n");
+        csv.append("Idade inválida,dois,").append(raca.getId()).append(",x\n");
+
+        long petsAntes = petRepository.count();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        ResultadoImportacao resultado = importar(csv.toString(), ImportacaoPetService.Formato.CSV);
+        long comandos = statistics.getPrepareStatementCount();
+        long inseridos = statistics.getEntityInsertCount();
+        long transacoes = statistics.getTransactionCount();
+
+        assertThat(resultado.total()).isEqualTo(REGISTROS + 3);
+        assertThat(resultado.importados()).isEqualTo(REGISTROS);
+        assertThat(resultado.falhas()).isEqualTo(3);
+        assertThat(resultado.erros()).extracting(ResultadoImportacao.Erro::linha)
+            .containsExactly(REGISTROS + 2L, REGISTROS + 3L, REGISTROS + 4L);
+        assertThat(petRepository.count()).isEqualTo(petsAntes + REGISTROS);
+        assertThat(petRepository.findAll()).filteredOn(pet -> pet.getNome().equals("Pet 0"))
+            .singleElement().extracting("descricao").isEqualTo("Dócil, vacinado e \"castrado\"");
+
+        // Com batches de 50: um INSERT preparado e um valor de sequence por lote,
+        // em vez de um comando por pet, e uma transação por lote
+        assertThat(inseridos).isEqualTo(REGISTROS);
+        assertThat(comandos).isLessThanOrEqualTo(2L * REGISTROS / 50 + 2);
+        assertThat(transacoes).isEqualTo(REGISTROS / 50);
+    }
+
+    @Test
+    void importacaoNdjsonGravaLoteParcialQuandoUmRegistroFalha() throws IOException {
+        Raca raca = criarRaca();
+        String ndjson = """
+            {"nome": "Rex", "idade": 3, "racaId": %1$d, "descricao": "Brincalhão"}
+            {"nome": "Mia", "idade": 1, "racaId": %1$d, "descricao": null}
+            {"nome": "Thor", "idade": 5, "racaId": %1$d, "foto": "thor.jpg"}
+            não é json
+            """.formatted(raca.getId());
+
+        ResultadoImportacao resultado = importar(ndjson, ImportacaoPetService.Formato.NDJSON);
+
+        assertThat(resultado.importados()).isEqualTo(2);
+        assertThat(resultado.erros()).extracting(ResultadoImportacao.Erro::linha).containsExactly(3L, 4L);
+    }
+
+    private ResultadoImportacao importar(String conteudo, ImportacaoPetService.Formato formato) throws IOException {
+        return importacaoPetService.importar(
+            new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)), formato, null);
+    }
+
+    private Raca criarRaca() {
+        Especie especie = new Especie();
+        especie.setNome("Cachorro");
+        especie = especieRepository.save(especie);
+
+        Raca raca = new Raca();
+        raca.setNome("Vira-lata");
+        raca.setEspecie(especie);
+        raca = racaRepository.save(raca);
+        catalogoCache.recarregar();
+        return raca;
+    }
+}
@@ -0,0 +1,184 @@
+package app.adocao.pets.service;
+
+import app.adocao.pets.dto.FaixaIdade;
+import app.adocao.pets.dto.ResultadoFacetado;
+import app.adocao.pets.dto.ResultadoFacetado.ValorFaceta;
+import app.adocao.pets.model.Especie;
+import app.adocao.pets.model.Pet;
+import app.adocao.pets.model.Raca;
+import app.adocao.pets.repository.EspecieRepository;
+import app.adocao.pets.repository.PetRepository;
+import app.adocao.pets.repository.RacaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Verifica as contagens das facetas dos pets disponíveis e que elas vêm de consultas
+ * de agregação, sem carregar entidades, e o limite de pets do filtro de texto.
+ */
+@DataJpaTest(properties = {
+    "spring.jpa.properties.hibernate.generate_statistics=true",
+    "pets.busca.diretorio=${java.io.tmpdir}/pets-busca-navegacao-tests",
+    "pets.busca.maximo-navegacao=14"
+})
+@Import({NavegacaoPetService.class, BuscaPetService.class, CatalogoCache.class, VersaoDados.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class NavegacaoPetServiceTests {
+
+    @Autowired
+    private NavegacaoPetService navegacaoPetService;
+
+    @Autowired
+    private BuscaPetService buscaPetService;
+
+    @Autowired
+    private CatalogoCache catalogoCache;
+
+    @Autowired
+    private PetRepository petRepository;
+
+    @Autowired
+    private EspecieRepository especieRepository;
+
+    @Autowired
+    private RacaRepository racaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Raca labrador;
+    private Raca poodle;
+    private Raca siames;
+
+    @BeforeEach
+    void setUp() {
+        petRepository.deleteAll();
+        racaRepository.deleteAll();
+        especieRepository.deleteAll();
+
+        Especie cachorro = criarEspecie("Cachorro");
+        labrador = criarRaca("Labrador", cachorro);
+        poodle = criarRaca("Poodle", cachorro);
+        siames = criarRaca("Siamês", criarEspecie("Gato"));
+        catalogoCache.recarregar();
+
+        // Labrador: 10 filhotes, 5 adultos (1 adotado); Poodle: 3 idosos; Siamês: 4 jovens
+        List<Pet> pets = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            pets.add(pet(labrador, 0, "Filhote brincalhão", false));
+        }
+        for (int i = 0; i < 5; i++) {
+            pets.add(pet(labrador, 5, "Calmo", i == 0));
+        }
+        for (int i = 0; i < 3; i++) {
+            pets.add(pet(poodle, 9, "Calmo e dócil", false));
+        }
+        for (int i = 0; i < 4; i++) {
+            pets.add(pet(siames, 2, "Dócil", false));
+        }
+        petRepository.saveAll(pets);
+        buscaPetService.reindexar();
+    }
+
+    @Test
+    void facetasContamPetsDisponiveisIgnorandoOProprioFiltro() {
+        ResultadoFacetado resultado = navegacaoPetService.navegar(
+            new NavegacaoPetService.Filtro(labrador.getEspecie().getId(), null, null, null), 0, 5);
+
+        assertThat(resultado.total()).isEqualTo(17);
+        assertThat(resultado.itens()).hasSize(5);
+        assertThat(resultado.proximoCursor()).isNotNull();
+        assertThat(resultado.especies()).extracting(ValorFaceta::rotulo, ValorFaceta::quantidade, ValorFaceta::selecionado)
+            .containsExactly(
+                tuple("Cachorro", 17L, true),
+                tuple("Gato", 4L, false));
+        assertThat(resultado.racas()).extracting(ValorFaceta::rotulo, ValorFaceta::quantidade)
+            .containsExactly(
+                tuple("Labrador", 14L),
+                tuple("Poodle", 3L));
+        assertThat(resultado.idades()).extracting(ValorFaceta::valor, ValorFaceta::quantidade)
+            .containsExactly(
+                tuple("filhote", 10L),
+                tuple("adulto", 4L),
+                tuple("idoso", 3L));
+    }
+
+    @Test
+    void filtroDeTextoEFaixaDeIdadeRestringemPaginaEFacetas() {
+        ResultadoFacetado resultado = navegacaoPetService.navegar(
+            new NavegacaoPetService.Filtro(null, null, FaixaIdade.IDOSO, "docil"), 0, 20);
+
+        assertThat(resultado.total()).isEqualTo(3);
+        assertThat(resultado.itens()).extracting("racaNome").containsOnly("Poodle");
+        assertThat(resultado.especies()).extracting(ValorFaceta::rotulo).containsExactly("Cachorro");
+        // A faceta de idade ignora a faixa selecionada: mostra também os siameses jovens
+        assertThat(resultado.idades()).extracting(ValorFaceta::valor).containsExactly("jovem", "idoso");
+
+        assertThat(navegacaoPetService.navegar(
+            new NavegacaoPetService.Filtro(null, null, null, "inexistente"), 0, 20).total()).isZero();
+    }
+
+    @Test
+    void filtroDeTextoIgnoraAdotadosEIndicaOLimite() {
+        // 15 labradores, 1 adotado: os 14 disponíveis cabem no limite
+        ResultadoFacetado labradores = navegacaoPetService.navegar(
+            new NavegacaoPetService.Filtro(null, null, null, "labrador"), 0, 20);
+        assertThat(labradores.total()).isEqualTo(14);
+        assertThat(labradores.limiteAtingido()).isFalse();
+
+        // 17 cachorros disponíveis: só os 14 mais relevantes são considerados
+        ResultadoFacetado cachorros = navegacaoPetService.navegar(
+            new NavegacaoPetService.Filtro(null, null, null, "cachorro"), 0, 20);
+        assertThat(cachorros.total()).isEqualTo(14);
+        assertThat(cachorros.limiteAtingido()).isTrue();
+    }
+
+    @Test
+    void navegacaoNaoCarregaEntidades() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        navegacaoPetService.navegar(new NavegacaoPetService.Filtro(null, poodle.getId(), null, null), 0, 20);
+
+        // Página + uma consulta de agregação por faceta
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    private Especie criarEspecie(String nome) {
+        Especie especie = new Especie();
+        especie.setNome(nome);
+        return especieRepository.save(especie);
+    }
+
+    private Raca criarRaca(String nome, Especie especie) {
+        Raca raca = new Raca();
+        raca.setNome(nome);
+        raca.setEspecie(especie);
+        return racaRepository.save(raca);
+    }
+
+    private static Pet pet(Raca raca, int idade, String descricao, boolean adotado) {
+        Pet pet = new Pet();
+        pet.setNome(raca.getNome() + " " + idade);
+        pet.setRaca(raca);
+        pet.setIdade(idade);
+        pet.setDescricao(descricao);
+        pet.setAdotado(adotado);
+        return pet;
+    }
+}
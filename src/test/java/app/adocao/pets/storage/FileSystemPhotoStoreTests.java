@@ -0,0 +1,84 @@
+package app.adocao.pets.storage;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Uploads em fluxo: hash calculado durante a cópia, limite de tamanho e
+ * validação do formato, sem deixar arquivos temporários para trás.
+ */
+class FileSystemPhotoStoreTests {
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void fluxoGeraMesmoHashQueBytes() throws IOException {
+        PhotoStore photoStore = new FileSystemPhotoStore(diretorio);
+        byte[] png = png(100_000);
+
+        String hashFluxo = photoStore.salvar(new ByteArrayInputStream(png));
+
+        assertThat(hashFluxo).isEqualTo(photoStore.salvar(png));
+        assertThat(photoStore.carregar(hashFluxo).orElseThrow().getContentAsByteArray()).isEqualTo(png);
+        assertThat(temporarios()).isZero();
+    }
+
+    @Test
+    void rejeitaFotoAcimaDoLimiteSemLerTudo() throws IOException {
+        PhotoStore photoStore = new FileSystemPhotoStore(diretorio, DataSize.ofKilobytes(64));
+        InfinitoPng conteudo = new InfinitoPng();
+
+        assertThatThrownBy(() -> photoStore.salvar(conteudo)).isInstanceOf(FotoMuitoGrandeException.class);
+        assertThat(conteudo.lidos).isLessThanOrEqualTo(DataSize.ofKilobytes(64).toBytes() + 8192);
+        assertThat(temporarios()).isZero();
+    }
+
+    @Test
+    void rejeitaConteudoQueNaoEImagem() throws IOException {
+        PhotoStore photoStore = new FileSystemPhotoStore(diretorio);
+
+        assertThatThrownBy(() -> photoStore.salvar(new ByteArrayInputStream("nome,idade\n".getBytes())))
+                .isInstanceOf(FotoInvalidaException.class)
+                .isNotInstanceOf(FotoMuitoGrandeException.class);
+        assertThat(temporarios()).isZero();
+    }
+
+    private long temporarios() throws IOException {
+        try (Stream<Path> arquivos = Files.list(diretorio)) {
+            return arquivos.filter(arquivo -> arquivo.getFileName().toString().startsWith("upload-")).count();
+        }
+    }
+
+    private static byte[] png(int tamanho) {
+        byte[] conteudo = new byte[tamanho];
+        Arrays.fill(conteudo, (byte) 7);
+        System.arraycopy(new byte[] {(byte) 0x89, 'P', 'N', 'G'}, 0, conteudo, 0, 4);
+        return conteudo;
+    }
+
+    /** Fluxo sem fim que começa com a assinatura PNG e conta os bytes lidos. */
+    private static class InfinitoPng extends InputStream {
+
+        private long lidos;
+
+        @Override
+        public int read() {
+            int valor = lidos < 4 ? new byte[] {(byte) 0x89, 'P', 'N', 'G'}[(int) lidos] & 0xFF : 7;
+            lidos++;
+            return valor;
+        }
+    }
+}